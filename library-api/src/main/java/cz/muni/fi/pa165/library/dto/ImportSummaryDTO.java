@@ -0,0 +1,58 @@
+package cz.muni.fi.pa165.library.dto;
+
+import java.util.Objects;
+
+/**
+ * Numbers of rows inserted and skipped by a bulk import.
+ */
+public class ImportSummaryDTO {
+    private long inserted;
+    private long skipped;
+
+    public ImportSummaryDTO() {
+
+    }
+
+    public ImportSummaryDTO(long inserted, long skipped) {
+        this.inserted = inserted;
+        this.skipped = skipped;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportSummaryDTO that = (ImportSummaryDTO) o;
+        return inserted == that.inserted &&
+                skipped == that.skipped;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(inserted, skipped);
+    }
+
+    @Override
+    public String toString() {
+        return "ImportSummaryDTO{" +
+                "inserted=" + inserted +
+                ", skipped=" + skipped +
+                '}';
+    }
+}
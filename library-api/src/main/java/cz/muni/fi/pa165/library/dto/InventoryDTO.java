@@ -0,0 +1,72 @@
+package cz.muni.fi.pa165.library.dto;
+
+import java.util.Objects;
+
+/**
+ * Copies of one book and how many of them can be borrowed right now.
+ *
+ * @since 18.10.2026
+ */
+public class InventoryDTO {
+    private long bookId;
+    private int copies;
+    private int availableCopies;
+
+    public InventoryDTO() {
+
+    }
+
+    public InventoryDTO(long bookId, int copies, int availableCopies) {
+        this.bookId = bookId;
+        this.copies = copies;
+        this.availableCopies = availableCopies;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(long bookId) {
+        this.bookId = bookId;
+    }
+
+    public int getCopies() {
+        return copies;
+    }
+
+    public void setCopies(int copies) {
+        this.copies = copies;
+    }
+
+    public int getAvailableCopies() {
+        return availableCopies;
+    }
+
+    public void setAvailableCopies(int availableCopies) {
+        this.availableCopies = availableCopies;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InventoryDTO that = (InventoryDTO) o;
+        return bookId == that.bookId &&
+                copies == that.copies &&
+                availableCopies == that.availableCopies;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bookId, copies, availableCopies);
+    }
+
+    @Override
+    public String toString() {
+        return "InventoryDTO{" +
+                "bookId=" + bookId +
+                ", copies=" + copies +
+                ", availableCopies=" + availableCopies +
+                '}';
+    }
+}
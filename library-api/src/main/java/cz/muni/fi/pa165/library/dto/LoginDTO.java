@@ -0,0 +1,41 @@
+package cz.muni.fi.pa165.library.dto;
+
+/**
+ * Credentials exchanged for an access token.
+ */
+public class LoginDTO {
+    private String email;
+    private String password;
+
+    public LoginDTO() {
+
+    }
+
+    public LoginDTO(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    @Override
+    public String toString() {
+        return "LoginDTO{" +
+                "email='" + email + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package cz.muni.fi.pa165.library.dto;
+
+import java.util.Objects;
+
+/**
+ * A loan which has not been returned within the loan period.
+ *
+ * @since 18.10.2026
+ */
+public class OverdueLoanDTO {
+    private long loanId;
+    private long bookId;
+    private long userId;
+    private long daysOverdue;
+
+    public OverdueLoanDTO() {
+
+    }
+
+    public OverdueLoanDTO(long loanId, long bookId, long userId, long daysOverdue) {
+        this.loanId = loanId;
+        this.bookId = bookId;
+        this.userId = userId;
+        this.daysOverdue = daysOverdue;
+    }
+
+    public long getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(long loanId) {
+        this.loanId = loanId;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(long bookId) {
+        this.bookId = bookId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public long getDaysOverdue() {
+        return daysOverdue;
+    }
+
+    public void setDaysOverdue(long daysOverdue) {
+        this.daysOverdue = daysOverdue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OverdueLoanDTO that = (OverdueLoanDTO) o;
+        return loanId == that.loanId &&
+                bookId == that.bookId &&
+                userId == that.userId &&
+                daysOverdue == that.daysOverdue;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(loanId, bookId, userId, daysOverdue);
+    }
+
+    @Override
+    public String toString() {
+        return "OverdueLoanDTO{" +
+                "loanId=" + loanId +
+                ", bookId=" + bookId +
+                ", userId=" + userId +
+                ", daysOverdue=" + daysOverdue +
+                '}';
+    }
+}
@@ -0,0 +1,157 @@
+package cz.muni.fi.pa165.library.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Result of a scan of all open loans for overdue ones.
+ *
+ * Overdue loans are counted by days overdue (less than a week, less than thirty days, longer),
+ * only the most overdue of them are listed.
+ *
+ * @since 18.10.2026
+ */
+public class OverdueReportDTO {
+    private long id;
+    private LocalDateTime asOf;
+    private LocalDateTime finishedAt;
+    private long scanned;
+    private long overdue;
+    private long overdueWeek;
+    private long overdueMonth;
+    private long overdueLonger;
+    private long durationMillis;
+    private long rowsPerSecond;
+    private List<OverdueLoanDTO> longestOverdue = new ArrayList<>();
+
+    public OverdueReportDTO() {
+
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+
+    public void setScanned(long scanned) {
+        this.scanned = scanned;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public long getOverdueWeek() {
+        return overdueWeek;
+    }
+
+    public void setOverdueWeek(long overdueWeek) {
+        this.overdueWeek = overdueWeek;
+    }
+
+    public long getOverdueMonth() {
+        return overdueMonth;
+    }
+
+    public void setOverdueMonth(long overdueMonth) {
+        this.overdueMonth = overdueMonth;
+    }
+
+    public long getOverdueLonger() {
+        return overdueLonger;
+    }
+
+    public void setOverdueLonger(long overdueLonger) {
+        this.overdueLonger = overdueLonger;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<OverdueLoanDTO> getLongestOverdue() {
+        return longestOverdue;
+    }
+
+    public void setLongestOverdue(List<OverdueLoanDTO> longestOverdue) {
+        this.longestOverdue = longestOverdue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OverdueReportDTO that = (OverdueReportDTO) o;
+        return id == that.id &&
+                scanned == that.scanned &&
+                overdue == that.overdue &&
+                overdueWeek == that.overdueWeek &&
+                overdueMonth == that.overdueMonth &&
+                overdueLonger == that.overdueLonger &&
+                durationMillis == that.durationMillis &&
+                rowsPerSecond == that.rowsPerSecond &&
+                Objects.equals(asOf, that.asOf) &&
+                Objects.equals(finishedAt, that.finishedAt) &&
+                Objects.equals(longestOverdue, that.longestOverdue);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, asOf, finishedAt, scanned, overdue, overdueWeek, overdueMonth, overdueLonger,
+                durationMillis, rowsPerSecond, longestOverdue);
+    }
+
+    @Override
+    public String toString() {
+        return "OverdueReportDTO{" +
+                "id=" + id +
+                ", asOf=" + asOf +
+                ", finishedAt=" + finishedAt +
+                ", scanned=" + scanned +
+                ", overdue=" + overdue +
+                ", durationMillis=" + durationMillis +
+                ", rowsPerSecond=" + rowsPerSecond +
+                '}';
+    }
+}
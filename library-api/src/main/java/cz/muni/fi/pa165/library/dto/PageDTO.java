@@ -0,0 +1,64 @@
+package cz.muni.fi.pa165.library.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One page of a keyset paginated listing.
+ *
+ * The next page is requested by passing {@link #getNextCursor()} back,
+ * the cursor is null on the last page.
+ *
+ * @param <T> type of the listed items
+ */
+public class PageDTO<T> {
+    private List<T> content;
+    private String nextCursor;
+
+    public PageDTO() {
+
+    }
+
+    public PageDTO(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageDTO<?> pageDTO = (PageDTO<?>) o;
+        return Objects.equals(content, pageDTO.content) &&
+                Objects.equals(nextCursor, pageDTO.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(content, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "PageDTO{" +
+                "content=" + content +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
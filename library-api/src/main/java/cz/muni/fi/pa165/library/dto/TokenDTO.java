@@ -0,0 +1,58 @@
+package cz.muni.fi.pa165.library.dto;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Access token sent as "Authorization: Bearer &lt;token&gt;" until it expires.
+ */
+public class TokenDTO {
+    private String token;
+    private Instant expiresAt;
+
+    public TokenDTO() {
+
+    }
+
+    public TokenDTO(String token, Instant expiresAt) {
+        this.token = token;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TokenDTO tokenDTO = (TokenDTO) o;
+        return Objects.equals(token, tokenDTO.token) &&
+                Objects.equals(expiresAt, tokenDTO.expiresAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(token, expiresAt);
+    }
+
+    @Override
+    public String toString() {
+        return "TokenDTO{" +
+                "expiresAt=" + expiresAt +
+                '}';
+    }
+}
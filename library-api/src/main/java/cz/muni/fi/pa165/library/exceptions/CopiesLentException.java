@@ -0,0 +1,13 @@
+package cz.muni.fi.pa165.library.exceptions;
+
+/**
+ * The number of copies of a book is to be set below the number of its copies being lent.
+ *
+ * @since 18.10.2026
+ */
+public class CopiesLentException extends IllegalStateException {
+
+    public CopiesLentException(long bookId, int copies) {
+        super("More than " + copies + " copies of book " + bookId + " are lent.");
+    }
+}
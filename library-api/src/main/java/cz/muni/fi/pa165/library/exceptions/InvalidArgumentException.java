@@ -0,0 +1,17 @@
+package cz.muni.fi.pa165.library.exceptions;
+
+/**
+ * An argument sent by the client, e.g. a paging cursor, a page size or an import, is invalid.
+ *
+ * @since 18.10.2026
+ */
+public class InvalidArgumentException extends IllegalArgumentException {
+
+    public InvalidArgumentException(String message) {
+        super(message);
+    }
+
+    public InvalidArgumentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package cz.muni.fi.pa165.library.exceptions;
+
+/**
+ * All copies of the book to be lent are lent already.
+ *
+ * @since 18.10.2026
+ */
+public class NoCopyAvailableException extends IllegalStateException {
+
+    public NoCopyAvailableException(long bookId) {
+        super("No copy of book " + bookId + " is available.");
+    }
+}
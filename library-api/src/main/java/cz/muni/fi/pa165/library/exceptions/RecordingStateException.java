@@ -0,0 +1,13 @@
+package cz.muni.fi.pa165.library.exceptions;
+
+/**
+ * A flight recording is to be started while one is running, or stopped while none is.
+ *
+ * @since 18.10.2026
+ */
+public class RecordingStateException extends IllegalStateException {
+
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package cz.muni.fi.pa165.library.exceptions;
+
+/**
+ * A scan for overdue loans has been requested while another one is running.
+ *
+ * @since 18.10.2026
+ */
+public class ScanRunningException extends IllegalStateException {
+
+    public ScanRunningException() {
+        super("An overdue loan scan is already running.");
+    }
+}
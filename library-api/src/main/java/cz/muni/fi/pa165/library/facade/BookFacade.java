@@ -1,6 +1,10 @@
 package cz.muni.fi.pa165.library.facade;
 
 import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.ImportSummaryDTO;
+import cz.muni.fi.pa165.library.dto.InventoryDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -18,6 +22,16 @@ public interface BookFacade {
      */
     long createBook(BookDTO book);
 
+    /**
+     * method imports books from the stream, skipping books without title or author
+     * and books with title and author already in the catalogue
+     *
+     * @param books  JSON array or CSV (title,author) of books
+     * @param format json or csv
+     * @return numbers of inserted and skipped books
+     */
+    ImportSummaryDTO importBooks(InputStream books, String format);
+
     /**
      * if book exists method remove it
      *
@@ -32,6 +46,16 @@ public interface BookFacade {
      */
     List<BookDTO> findAllBooks();
 
+    /**
+     * method gets one page of books, pages are chained by cursors
+     *
+     * @param sort   attribute to sort by, one of id, title, author
+     * @param cursor next cursor of the previous page, null for the first page
+     * @param size   number of books on the page
+     * @return page of books and cursor of the next page
+     */
+    PageDTO<BookDTO> findBooksPage(String sort, String cursor, int size);
+
     /**
      * method gets all books having certain title
      *
@@ -54,4 +78,26 @@ public interface BookFacade {
      * @return book having certain id
      */
     BookDTO findById(long id);
+
+    /**
+     * method gets number of copies of the book and how many of them are available,
+     * answered from memory once its copies have been stored
+     *
+     * @param bookId id of the book
+     * @return copies of the book
+     * @throws java.util.NoSuchElementException if there is no such book
+     */
+    InventoryDTO getInventory(long bookId);
+
+    /**
+     * method changes number of copies of the book, available copies change by the same number
+     *
+     * @param bookId id of the book
+     * @param copies new number of copies
+     * @return changed copies of the book
+     * @throws cz.muni.fi.pa165.library.exceptions.InvalidArgumentException if copies is negative
+     * @throws cz.muni.fi.pa165.library.exceptions.CopiesLentException if more than copies copies are lent
+     * @throws java.util.NoSuchElementException if there is no such book
+     */
+    InventoryDTO setCopies(long bookId, int copies);
 }
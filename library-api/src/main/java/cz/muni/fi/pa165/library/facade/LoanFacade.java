@@ -1,9 +1,10 @@
 package cz.muni.fi.pa165.library.facade;
 
-import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.OverdueReportDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
-import cz.muni.fi.pa165.library.dto.UserDTO;
 import java.util.List;
+import java.util.function.Consumer;
 
 /** @author Martin Páleník 359817 */
 public interface LoanFacade {
@@ -14,6 +15,8 @@ public interface LoanFacade {
      * Other information may be provided by the DTO.
      * @param singleLoanInfo
      * @return id of the created loan
+     * @throws cz.muni.fi.pa165.library.exceptions.NoCopyAvailableException if no copy of the book is available
+     * @throws java.util.NoSuchElementException if there is no such book
      */
     long borrowBook(SingleLoanDTO singleLoanInfo);
 
@@ -21,25 +24,59 @@ public interface LoanFacade {
      * Return a book for an existing loan.
      * Records the provided time of return
      * and conditon of the returned book.
+     * The copy is available again unless the loan has been returned already.
      * @param returnInfo
-     * @return id of the created loan
+     * @throws cz.muni.fi.pa165.library.exceptions.InvalidArgumentException if the time of return is missing
+     * @throws java.util.NoSuchElementException if there is no such loan
      */
     void returnBook(SingleLoanDTO returnInfo);
 
     /**
-     * For the given user return all his loans (current or past).
+     * For the given user return his loans (current or past), one page at a time.
      * Answers "what a member borrowed and when".
+     * @param userId id of the user
+     * @param page zero-based page index
+     * @param size number of loans on a page
      * @return list of loans for the given user
+     * @throws cz.muni.fi.pa165.library.exceptions.InvalidArgumentException if page or size is out of range
      */
-    List<SingleLoanDTO> getLoansForUser(UserDTO userDto);
+    List<SingleLoanDTO> getLoansForUser(long userId, int page, int size);
 
     /**
-     * For the given book return all its loans (current or past).
+     * For the given book return its loans (current or past), one page at a time.
      * Answers "who borrowed a certain book".
      * Answers "what condition they returned the book in".
+     * @param bookId id of the book
+     * @param page zero-based page index
+     * @param size number of loans on a page
      * @return list of loans for the given book
+     * @throws cz.muni.fi.pa165.library.exceptions.InvalidArgumentException if page or size is out of range
+     */
+    List<SingleLoanDTO> getLoansForBook(long bookId, int page, int size);
+
+    /**
+     * For the given user return the loans which have not been returned yet.
+     * @param userId id of the user
+     * @return open loans of the user
+     */
+    List<SingleLoanDTO> getOpenLoansForUser(long userId);
+
+    /**
+     * For the given book return its loans which have not been returned yet.
+     * @param bookId id of the book
+     * @return open loans of the book
      */
-    List<SingleLoanDTO> getLoansForBook(BookDTO bookDto);
+    List<SingleLoanDTO> getOpenLoansForBook(long bookId);
+
+    /**
+     * Get one page of loans which have not been returned yet,
+     * ordered by id. Pages are chained by cursors.
+     *
+     * @param cursor next cursor of the previous page, null for the first page
+     * @param size number of loans on the page
+     * @return page of open loans and cursor of the next page
+     */
+    PageDTO<SingleLoanDTO> getOpenSingleLoansPage(String cursor, int size);
 
     /**
      * Get all loans in the system, including the ones
@@ -49,6 +86,43 @@ public interface LoanFacade {
      */
     List<SingleLoanDTO> getAllSingleLoans();
 
+    /**
+     * Get one page of all loans in the system, including the ones
+     * with already returned book. Pages are chained by cursors.
+     *
+     * @param sort attribute to sort by, one of id, registeredAt
+     * @param cursor next cursor of the previous page, null for the first page
+     * @param size number of loans on the page
+     * @return page of loans and cursor of the next page
+     */
+    PageDTO<SingleLoanDTO> getSingleLoansPage(String sort, String cursor, int size);
+
+    /**
+     * Pass all loans in the system, including the ones with
+     * already returned book, to the sink one at a time.
+     * Unlike getAllSingleLoans, memory use does not depend
+     * on the number of loans.
+     *
+     * @param sink consumer of the loans, called in id order
+     * @return number of exported loans
+     */
+    long exportSingleLoans(Consumer<SingleLoanDTO> sink);
+
+    /**
+     * Get the report of the latest finished scan for overdue loans.
+     * @return the report, null if no scan has finished yet
+     */
+    OverdueReportDTO getOverdueReport();
+
+    /**
+     * Scan all open loans for overdue ones now,
+     * or finish the scan interrupted by a restart.
+     * Scans also run every night.
+     * @return report of the finished scan
+     * @throws cz.muni.fi.pa165.library.exceptions.ScanRunningException if a scan is running already
+     */
+    OverdueReportDTO scanOverdueLoans();
+
     /**
      * Get a loan by id.
      * @param id
@@ -64,7 +138,7 @@ public interface LoanFacade {
 
     /**
      * Remove a loan by its id.
-     * Note: calls CrudRepository directly
+     * The copy is available again if the loan has not been returned.
      * @param loanId
      * @throws IllegalArgumentException if "id" is invalid
      */
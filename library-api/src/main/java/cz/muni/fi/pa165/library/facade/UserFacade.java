@@ -1,7 +1,9 @@
 package cz.muni.fi.pa165.library.facade;
 
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.dto.UserDTO;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Katarína Hermanová
@@ -47,6 +49,16 @@ public interface UserFacade {
      */
     List<UserDTO> findAll();
 
+    /**
+     * method gets one page of users, pages are chained by cursors
+     *
+     * @param sort   attribute to sort by, one of id, lastName
+     * @param cursor next cursor of the previous page, null for the first page
+     * @param size   number of users on the page
+     * @return page of users and cursor of the next page
+     */
+    PageDTO<UserDTO> findPage(String sort, String cursor, int size);
+
     /**
      *
      * @return all existing users, who are librarian
@@ -62,6 +74,25 @@ public interface UserFacade {
      */
     long addUser(UserDTO user, String password);
 
+    /**
+     * method creates new user like addUser, but hashes the password
+     * on a bounded pool of hashing threads instead of the calling thread
+     *
+     * @param user to add
+     * @param password associated with user
+     * @return future id of created user, failing with RejectedExecutionException
+     * when too many passwords are waiting to be hashed
+     */
+    CompletableFuture<Long> addUserAsync(UserDTO user, String password);
+
+    /**
+     * method grants or revokes the librarian role of user
+     *
+     * @param id of the user
+     * @param librarian whether the user should be a librarian
+     */
+    void setLibrarian(long id, boolean librarian);
+
     /**
      * if user exists method remove it
      *
@@ -0,0 +1,54 @@
+package cz.muni.fi.pa165.library.benchmarks;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import cz.muni.fi.pa165.library.LibraryApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.UUID;
+
+/**
+ * Boots the service layer of the library on its own in-memory H2 database.
+ *
+ * @since 18.10.2026
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * starts a new application context, every context gets a fresh database
+     *
+     * @param properties additional properties in key=value form
+     * @return started context, to be closed in the benchmark tear down
+     */
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(LibraryApplication.class, MapperConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * the Dozer mapper bean is defined by library-rest, which the benchmarks do not depend on
+     */
+    @Configuration
+    static class MapperConfiguration {
+
+        @Bean
+        public Mapper mapper() {
+            return DozerBeanMapperBuilder.buildDefault();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package cz.muni.fi.pa165.library.benchmarks;
+
+import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.exceptions.NoCopyAvailableException;
+import cz.muni.fi.pa165.library.facade.LoanFacade;
+import cz.muni.fi.pa165.library.repositories.BookRepository;
+import cz.muni.fi.pa165.library.repositories.UserRepository;
+import cz.muni.fi.pa165.library.services.InventoryService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Desks lending books through {@link InventoryService#borrowBook} at the same time.
+ *
+ * Every operation borrows a random one of hotBooks books (one copy each) and returns it right away,
+ * a borrow of a book some other desk holds at that moment is a conflict.
+ * The primary score is the number of attempted checkouts per second, the loans and conflicts
+ * counters split it into successful and rejected ones, so the conflict rate is conflicts / score.
+ * lockStripes=1 puts all books behind one lock, i.e. serialises all checkouts
+ * the way a table-wide lock would.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckoutBenchmark {
+
+    @Param({"16", "1024"})
+    private int hotBooks;
+
+    @Param({"1", "256"})
+    private int lockStripes;
+
+    private ConfigurableApplicationContext context;
+
+    private InventoryService inventoryService;
+
+    private LoanFacade loanFacade;
+
+    private List<Book> books;
+
+    private List<User> users;
+
+    /**
+     * successful and rejected checkouts of one desk
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Desk {
+
+        public long loans;
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            loans = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("library.checkout.lock-stripes=" + lockStripes);
+        Dataset.populate(context, 1000);
+        inventoryService = context.getBean(InventoryService.class);
+        loanFacade = context.getBean(LoanFacade.class);
+
+        books = new ArrayList<>(hotBooks);
+        for (int i = 0; i < hotBooks; i++) {
+            books.add(new Book("Hot book " + i, "Author " + i));
+        }
+        context.getBean(BookRepository.class).saveAll(books);
+        users = new ArrayList<>();
+        context.getBean(UserRepository.class).findAll().forEach(users::add);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void desks1(Desk desk) {
+        checkout(desk);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void desks4(Desk desk) {
+        checkout(desk);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void desks16(Desk desk) {
+        checkout(desk);
+    }
+
+    private void checkout(Desk desk) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Book book = books.get(random.nextInt(books.size()));
+        User user = users.get(random.nextInt(users.size()));
+        long loanId;
+        try {
+            loanId = inventoryService.borrowBook(new SingleLoan(book, user, LocalDateTime.now()));
+        } catch (NoCopyAvailableException e) {
+            desk.conflicts++;
+            return;
+        }
+        desk.loans++;
+
+        SingleLoanDTO returnInfo = new SingleLoanDTO();
+        returnInfo.setId(loanId);
+        returnInfo.setReturnedAt(LocalDateTime.now());
+        returnInfo.setReturnCondition("good");
+        loanFacade.returnBook(returnInfo);
+    }
+}
@@ -0,0 +1,52 @@
+package cz.muni.fi.pa165.library.benchmarks;
+
+import cz.muni.fi.pa165.library.services.DatasetGenerator;
+import cz.muni.fi.pa165.library.services.DatasetSpec;
+import org.springframework.context.ApplicationContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deterministic dataset the benchmarks run against, generated by {@link DatasetGenerator}.
+ *
+ * For a size n it holds n books, n / 10 users (at least one) and n open loans spread evenly over the books
+ * and the users, so scores stay comparable across sizes. {@link #RARE_TITLE} is one of the 50 nouns
+ * of generated titles and {@link #RARE_AUTHOR} one of the 50 last names of authors,
+ * each matches two percent of the catalogue.
+ *
+ * @since 18.10.2026
+ */
+final class Dataset {
+
+    static final String RARE_TITLE = "Witcher";
+
+    static final String RARE_AUTHOR = "Sapkowski";
+
+    static final String PASSWORD_HASH = "$2a$10$SylCQITLdB.W.BOpQlhuEe6WUkd.tIhb9KXftQlHHsfy1J8Bdoaly";
+
+    private static final long SEED = 42;
+
+    private static final LocalDateTime END = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private Dataset() {
+    }
+
+    static int userCount(int size) {
+        return Math.max(1, size / 10);
+    }
+
+    static String email(int user) {
+        return DatasetSpec.email(user);
+    }
+
+    /**
+     * fills the database of the context with the dataset of the given size
+     *
+     * @param context started by {@link BenchmarkContext}
+     * @param size    number of books and loans
+     */
+    static void populate(ApplicationContext context, int size) {
+        context.getBean(DatasetGenerator.class).generate(new DatasetSpec(size, userCount(size), size, SEED,
+                0, 1, Duration.ofDays(730), END, "userPass"));
+    }
+}
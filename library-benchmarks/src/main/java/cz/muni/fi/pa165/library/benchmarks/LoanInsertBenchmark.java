@@ -0,0 +1,90 @@
+package cz.muni.fi.pa165.library.benchmarks;
+
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.repositories.BookRepository;
+import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
+import cz.muni.fi.pa165.library.repositories.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of inserting loans in one transaction depending on the JDBC batch size,
+ * the score is the number of inserted loans per second.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanInsertBenchmark {
+
+    private static final int LOANS = 1000;
+
+    @Param({"1", "50", "500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+
+    private SingleLoanRepository singleLoanRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    private List<Book> books;
+
+    private List<User> users;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "spring.jpa.properties.hibernate.order_inserts=true",
+                "spring.jpa.properties.library.id.allocation_size=" + LOANS);
+        Dataset.populate(context, LOANS);
+        singleLoanRepository = context.getBean(SingleLoanRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        books = context.getBean(BookRepository.class).findAll();
+        users = new ArrayList<>();
+        context.getBean(UserRepository.class).findAll().forEach(users::add);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOANS)
+    public void insertLoans() {
+        List<SingleLoan> loans = new ArrayList<>(LOANS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < LOANS; i++) {
+            SingleLoan loan = new SingleLoan(books.get(i % books.size()), users.get(i % users.size()), now);
+            loan.setReturnedAt(now);
+            loans.add(loan);
+        }
+        transactionTemplate.execute(status -> singleLoanRepository.saveAll(loans));
+    }
+}
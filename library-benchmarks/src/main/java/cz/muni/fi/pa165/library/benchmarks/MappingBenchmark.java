@@ -0,0 +1,91 @@
+package cz.muni.fi.pa165.library.benchmarks;
+
+import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.services.MappingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link MappingService#mapTo} for loans, which also map their book and user.
+ *
+ * The mode parameter compares the specialized mappers with Dozer,
+ * the score of {@link #mapLoans} divided by size is the per-object cost.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int size;
+
+    @Param({"specialized", "dozer"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+
+    private MappingService mappingService;
+
+    private List<SingleLoan> loans;
+
+    private SingleLoanDTO loanDTO;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("library.mapping.mode=" + mode);
+        mappingService = context.getBean(MappingService.class);
+
+        loans = new ArrayList<>(size);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            Book book = new Book("Book " + i, "Author " + i);
+            book.setId(i);
+            User user = new User("First" + i, "Last" + i, Dataset.email(i), false);
+            user.setId(i);
+            user.setPasswordHash(Dataset.PASSWORD_HASH);
+            SingleLoan loan = new SingleLoan(book, user, start.plusMinutes(i));
+            loan.setId((long) i);
+            loans.add(loan);
+        }
+        loanDTO = mappingService.mapTo(loans.get(0), SingleLoanDTO.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SingleLoanDTO> mapLoans() {
+        return mappingService.mapTo(loans, SingleLoanDTO.class);
+    }
+
+    @Benchmark
+    public SingleLoan mapLoanFromDTO() {
+        return mappingService.mapTo(loanDTO, SingleLoan.class);
+    }
+}
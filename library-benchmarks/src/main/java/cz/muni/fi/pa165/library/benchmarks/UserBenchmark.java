@@ -0,0 +1,82 @@
+package cz.muni.fi.pa165.library.benchmarks;
+
+import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.services.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link UserService#findByEmail} of a random existing user and {@link UserService#addUser}.
+ *
+ * Every addUser invocation inserts a new user, so the table grows slowly during the measurement.
+ * Its score includes hashing the password, addUserAsync hashes on the hashing pool
+ * and is run from as many threads as there are processors to show how hashing scales.
+ *
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ConfigurableApplicationContext context;
+
+    private UserService userService;
+
+    private int users;
+
+    private final AtomicLong added = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        Dataset.populate(context, size);
+        userService = context.getBean(UserService.class);
+        users = Dataset.userCount(size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public User findByEmail() {
+        return userService.findByEmail(Dataset.email(ThreadLocalRandom.current().nextInt(users)));
+    }
+
+    @Benchmark
+    public long addUser() {
+        User user = new User("Added", "User", "added" + added.getAndIncrement() + "@mail.com", false);
+        return userService.addUser(user, "password");
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long addUserAsync() {
+        User user = new User("Added", "User", "added" + added.getAndIncrement() + "@mail.com", false);
+        return userService.addUserAsync(user, "password").join();
+    }
+}
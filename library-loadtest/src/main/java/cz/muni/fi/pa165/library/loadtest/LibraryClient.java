@@ -0,0 +1,115 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Blocking client of the REST API on HttpURLConnection, whose kept-alive connections
+ * are reused by all threads (up to http.maxConnections of them).
+ *
+ * @since 18.10.2026
+ */
+final class LibraryClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+
+    private volatile String authorization;
+
+    /**
+     * @param baseUrl URL of the REST API, e.g. http://localhost:8080/pa165/rest
+     */
+    LibraryClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * logs in, the token authenticates all later requests
+     *
+     * @throws IllegalStateException if the login fails
+     */
+    void login(String email, String password) throws IOException {
+        Response response = post("/login", loginJson(email, password));
+        if (response.status != HttpURLConnection.HTTP_OK) {
+            throw new IllegalStateException("Login of " + email + " failed with " + response.status + ".");
+        }
+        JsonNode token = OBJECT_MAPPER.readTree(response.body);
+        authorization = "Bearer " + token.get("token").asText();
+    }
+
+    static String loginJson(String email, String password) {
+        return OBJECT_MAPPER.createObjectNode()
+                .put("email", email)
+                .put("password", password)
+                .toString();
+    }
+
+    Response get(String path) throws IOException {
+        return send("GET", path, null);
+    }
+
+    Response post(String path, String json) throws IOException {
+        return send("POST", path, json);
+    }
+
+    Response put(String path, String json) throws IOException {
+        return send("PUT", path, json);
+    }
+
+    private Response send(String method, String path, String json) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(5_000);
+        connection.setReadTimeout(60_000);
+        connection.setRequestProperty(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        if (authorization != null) {
+            connection.setRequestProperty(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        if (json != null) {
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        // the body is read to the end, otherwise the connection is not reused
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        return new Response(status, in != null ? read(in) : "");
+    }
+
+    private static String read(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int n = body.read(buffer); n >= 0; n = body.read(buffer)) {
+                out.write(buffer, 0, n);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static final class Response {
+
+        final int status;
+
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
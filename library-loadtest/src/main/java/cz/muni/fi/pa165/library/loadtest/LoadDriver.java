@@ -0,0 +1,174 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts requests at a constant arrival rate (an open model): the i-th request is due
+ * i / rate seconds after the start whether the earlier ones have been answered or not.
+ *
+ * Due requests are sent by loadtest.connections client threads, requests due while all of them
+ * are busy wait in a queue. Their latency counts from the time they were due, so a stalled server
+ * shows in the latencies of all requests that should have been sent meanwhile instead of
+ * in a single slow one. Requests due during the warmup are sent but not measured.
+ *
+ * @since 18.10.2026
+ */
+final class LoadDriver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadDriver.class);
+
+    private static final long INTERVAL_MILLIS = 1000;
+
+    private final LoadTestSettings settings;
+
+    private final LoadTarget target;
+
+    private final Map<Workload, WorkloadStats> stats = new EnumMap<>(Workload.class);
+
+    private final Workload[] workloads;
+
+    /** Cumulative weights of the workloads */
+    private final int[] weights;
+
+    private volatile int maxQueued;
+
+    LoadDriver(LoadTestSettings settings, LoadTarget target) {
+        this.settings = settings;
+        this.target = target;
+        List<Workload> mixed = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int sum = 0;
+        for (Map.Entry<Workload, Integer> weight : settings.mix.entrySet()) {
+            if (weight.getValue() > 0) {
+                sum += weight.getValue();
+                mixed.add(weight.getKey());
+                cumulative.add(sum);
+                stats.put(weight.getKey(), new WorkloadStats(weight.getKey()));
+            }
+        }
+        workloads = mixed.toArray(new Workload[0]);
+        weights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * runs the warmup and the measured part
+     *
+     * @param log receives the latencies of every workload per second of the measured part
+     */
+    void run(HistogramLogWriter log) throws InterruptedException {
+        AtomicInteger clientNumber = new AtomicInteger();
+        ThreadPoolExecutor clients = new ThreadPoolExecutor(settings.connections, settings.connections,
+                0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-client-" + clientNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        SplittableRandom random = new SplittableRandom(settings.seed);
+        double intervalNanos = 1e9 / settings.rate;
+        long start = System.nanoTime();
+        long measuredFrom = start + settings.warmup.toNanos();
+        long end = measuredFrom + settings.duration.toNanos();
+        LOGGER.info("Warming up for {} at {} requests per second.", settings.warmup, settings.rate);
+        reporter.schedule(() -> {
+            log.setBaseTime(System.currentTimeMillis());
+            stats.values().forEach(workload -> workload.start(log.getBaseTime()));
+            log.outputBaseTime(log.getBaseTime());
+            log.outputStartTime(log.getBaseTime());
+            log.outputLegend();
+            LOGGER.info("Measuring for {}.", settings.duration);
+            reporter.scheduleAtFixedRate(() -> intervals(log), INTERVAL_MILLIS, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }, settings.warmup.toNanos(), TimeUnit.NANOSECONDS);
+
+        for (long i = 0; ; i++) {
+            long due = start + (long) (i * intervalNanos);
+            if (due - end >= 0) {
+                break;
+            }
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload workload = next(random);
+            Workload.Call call = workload.prepare(target, random);
+            WorkloadStats measured = due - measuredFrom >= 0 ? stats.get(workload) : null;
+            clients.execute(() -> send(call, due, measured));
+            int queued = clients.getQueue().size();
+            if (queued > maxQueued) {
+                maxQueued = queued;
+            }
+        }
+
+        clients.shutdown();
+        if (!clients.awaitTermination(2, TimeUnit.MINUTES)) {
+            LOGGER.warn("Requests still running two minutes after the end are not measured.");
+            clients.shutdownNow();
+        }
+        reporter.shutdown();
+        reporter.awaitTermination(1, TimeUnit.MINUTES);
+        intervals(log);
+    }
+
+    Collection<WorkloadStats> getStats() {
+        return stats.values();
+    }
+
+    /**
+     * @return most requests waiting for a connection at once, 0 if the clients kept up with the rate
+     */
+    int getMaxQueued() {
+        return maxQueued;
+    }
+
+    private Workload next(SplittableRandom random) {
+        int pick = random.nextInt(weights[weights.length - 1]);
+        int i = 0;
+        while (weights[i] <= pick) {
+            i++;
+        }
+        return workloads[i];
+    }
+
+    private static void send(Workload.Call call, long due, WorkloadStats measured) {
+        long sent = System.nanoTime();
+        int status;
+        try {
+            status = call.execute().status;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Request failed.", e);
+            status = -1;
+        }
+        if (measured != null) {
+            measured.record(due, sent, System.nanoTime(), status);
+        }
+    }
+
+    /**
+     * writes the latencies recorded since the last call to the log
+     */
+    private void intervals(HistogramLogWriter log) {
+        for (WorkloadStats workload : stats.values()) {
+            log.outputIntervalHistogram(workload.interval());
+        }
+    }
+}
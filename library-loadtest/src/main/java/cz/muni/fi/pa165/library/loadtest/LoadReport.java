@@ -0,0 +1,141 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Files of one load test run, in a directory of loadtest.output named by the start of the run.
+ *
+ * - settings.properties: the loadtest.* settings of the run
+ * - latency.hlog: latencies of every workload per second, tagged by the workload, for HdrHistogram's log tools
+ * - &lt;workload&gt;.hgrm, &lt;workload&gt;-service.hgrm: percentile distributions of the latencies
+ *   and the service times in milliseconds, for HdrHistogram's plotter
+ * - summary.csv: requests, throughput, errors and latency percentiles of every workload
+ *
+ * The summary rows are also appended to history.csv in loadtest.output, which compares all runs.
+ *
+ * @since 18.10.2026
+ */
+final class LoadReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadReport.class);
+
+    private static final DateTimeFormatter RUN_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private static final String HEADER = "run,label,workload,rate,seconds,requests,throughput,errors,"
+            + "p50_ms,p90_ms,p99_ms,p99.9_ms,max_ms,service_p99_ms,statuses";
+
+    private final LoadTestSettings settings;
+
+    private final String run;
+
+    private final Path directory;
+
+    private LoadReport(LoadTestSettings settings, String run, Path directory) {
+        this.settings = settings;
+        this.run = run;
+        this.directory = directory;
+    }
+
+    /**
+     * creates the directory of a new run and writes its settings
+     */
+    static LoadReport create(LoadTestSettings settings) throws IOException {
+        String run = LocalDateTime.now().format(RUN_NAME);
+        Path directory = Files.createDirectories(settings.output.resolve(run));
+        List<String> lines = settings.describe().entrySet().stream()
+                .map(setting -> setting.getKey() + "=" + setting.getValue())
+                .collect(Collectors.toList());
+        Files.write(directory.resolve("settings.properties"), lines, StandardCharsets.UTF_8);
+        return new LoadReport(settings, run, directory);
+    }
+
+    /**
+     * @return stream of the per second latency log of the run, to be closed by the caller
+     */
+    PrintStream openLatencyLog() throws IOException {
+        return print(Files.newOutputStream(directory.resolve("latency.hlog")));
+    }
+
+    /**
+     * writes the distributions and the summary of the finished run
+     */
+    void write(LoadDriver driver) throws IOException {
+        double seconds = settings.duration.toNanos() / 1e9;
+        List<String> rows = new ArrayList<>();
+        for (WorkloadStats stats : driver.getStats()) {
+            String name = stats.getWorkload().getName();
+            Histogram latency = stats.getLatency();
+            Histogram service = stats.getServiceTime();
+            writeDistribution(latency, name + ".hgrm");
+            writeDistribution(service, name + "-service.hgrm");
+            String statuses = stats.getStatuses().entrySet().stream()
+                    .map(status -> status.getKey() + ":" + status.getValue())
+                    .collect(Collectors.joining(" "));
+            rows.add(String.join(",", run, csv(settings.label), name, format(settings.rate), format(seconds),
+                    String.valueOf(latency.getTotalCount()), format(latency.getTotalCount() / seconds),
+                    String.valueOf(stats.getErrors()),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()), millis(service.getValueAtPercentile(99)), statuses));
+            LOGGER.info("{}: {} requests ({} per second), {} errors, latency p50 {} ms, p99 {} ms, max {} ms, "
+                            + "service time p99 {} ms, statuses {}.",
+                    name, latency.getTotalCount(), format(latency.getTotalCount() / seconds), stats.getErrors(),
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getMaxValue()), millis(service.getValueAtPercentile(99)), statuses);
+        }
+        if (driver.getMaxQueued() > 0) {
+            LOGGER.info("Up to {} requests waited for one of {} connections.", driver.getMaxQueued(), settings.connections);
+        }
+
+        List<String> summary = new ArrayList<>();
+        summary.add(HEADER);
+        summary.addAll(rows);
+        Files.write(directory.resolve("summary.csv"), summary, StandardCharsets.UTF_8);
+        Path history = settings.output.resolve("history.csv");
+        if (!Files.exists(history)) {
+            Files.write(history, Collections.singletonList(HEADER), StandardCharsets.UTF_8);
+        }
+        Files.write(history, rows, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        LOGGER.info("Results written to {}.", directory.toAbsolutePath());
+    }
+
+    private void writeDistribution(Histogram histogram, String file) throws IOException {
+        try (PrintStream out = print(Files.newOutputStream(directory.resolve(file)))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static PrintStream print(OutputStream out) throws IOException {
+        return new PrintStream(out, false, StandardCharsets.UTF_8.name());
+    }
+
+    private static String millis(long nanos) {
+        return format(nanos / NANOS_PER_MILLI);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String csv(String value) {
+        return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+}
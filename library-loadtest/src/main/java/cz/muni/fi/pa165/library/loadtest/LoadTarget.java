@@ -0,0 +1,33 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The application under load as the workloads see it.
+ *
+ * @since 18.10.2026
+ */
+final class LoadTarget {
+
+    final LibraryClient client;
+
+    final LoadTestDataset dataset;
+
+    /** Loans to be returned, the seeded open loans first, then the borrowed ones */
+    final Queue<Long> openLoans = new ConcurrentLinkedQueue<>();
+
+    final String email;
+
+    final String password;
+
+    LoadTarget(LibraryClient client, LoadTestDataset dataset, String email, String password) {
+        this.client = client;
+        this.dataset = dataset;
+        this.email = email;
+        this.password = password;
+        for (long loan : dataset.getOpenLoans()) {
+            openLoans.add(loan);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import cz.muni.fi.pa165.library.LibraryApplication;
+import org.HdrHistogram.HistogramLogWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+/**
+ * Boots the application on a random port, seeds the dataset and puts it under the load
+ * of the workload mix, see LoadDriver. Results are written by LoadReport.
+ *
+ * Arguments are loadtest.* settings (and any other application property), e.g.
+ * loadtest.rate=200 loadtest.duration=5m loadtest.mix.borrow=0
+ *
+ * The load is generated in the JVM of the application, so both share its processors.
+ *
+ * @since 18.10.2026
+ */
+public final class LoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadTest.class);
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] properties = Arrays.stream(args)
+                .map(arg -> arg.startsWith("--") ? arg : "--" + arg)
+                .toArray(String[]::new);
+        // system properties take precedence over application.properties, the arguments over both:
+        // tokens valid for the whole run and only the sample accounts, the dataset of the load test is seeded below
+        System.setProperty("library.token.ttl", "1d");
+        System.setProperty("library.dataset.books", "0");
+        System.setProperty("library.dataset.users", "0");
+        System.setProperty("library.dataset.loans", "0");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryApplication.class)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "logging.level.cz.muni.fi.pa165.library.loadtest=INFO",
+                        // slow requests are what the load test measures, not worth a warning each
+                        "logging.level.cz.muni.fi.pa165.library.config.SqlStatisticsFilter=ERROR")
+                .run(properties);
+        try {
+            Environment environment = context.getEnvironment();
+            LoadTestSettings settings = LoadTestSettings.from(environment);
+            // kept-alive connections per host, read when HttpURLConnection is first used
+            System.setProperty("http.maxConnections", String.valueOf(settings.connections));
+
+            LoadTestDataset dataset = LoadTestDataset.seed(context, settings);
+            LOGGER.info("Seeded {} books, {} users and {} loans in {} ms ({} rows per second).",
+                    settings.books, settings.users, settings.loans, dataset.getElapsed().toMillis(),
+                    Math.round(dataset.getRowsPerSecond()));
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LibraryClient client = new LibraryClient("http://localhost:" + port
+                    + environment.getProperty("server.servlet.context-path", "") + "/rest");
+            client.login(settings.email, settings.password);
+
+            LoadReport report = LoadReport.create(settings);
+            LoadDriver driver = new LoadDriver(settings,
+                    new LoadTarget(client, dataset, settings.email, settings.password));
+            try (PrintStream latencyLog = report.openLatencyLog()) {
+                driver.run(new HistogramLogWriter(latencyLog));
+            }
+            report.write(driver);
+        } finally {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import cz.muni.fi.pa165.library.services.DatasetGenerator;
+import cz.muni.fi.pa165.library.services.DatasetSpec;
+import cz.muni.fi.pa165.library.services.GeneratedDataset;
+import org.springframework.context.ApplicationContext;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Books, users and loans the load runs against, inserted by DatasetGenerator before the run.
+ *
+ * Popularity of books and users is skewed by loadtest.skew, loadtest.open-loans of the loans
+ * are not returned yet. The same seed gives the same dataset.
+ *
+ * @since 18.10.2026
+ */
+final class LoadTestDataset {
+
+    private final GeneratedDataset dataset;
+
+    private LoadTestDataset(GeneratedDataset dataset) {
+        this.dataset = dataset;
+    }
+
+    /**
+     * inserts the dataset into the database of the application
+     */
+    static LoadTestDataset seed(ApplicationContext context, LoadTestSettings settings) {
+        DatasetSpec spec = new DatasetSpec(settings.books, settings.users, settings.loans, settings.seed,
+                settings.skew, settings.openLoans, Duration.ofDays(730), LocalDate.now().atStartOfDay(), "userPass");
+        return new LoadTestDataset(context.getBean(DatasetGenerator.class).generate(spec));
+    }
+
+    String title(int book) {
+        return dataset.getSpec().title(book);
+    }
+
+    String author(int book) {
+        return dataset.getSpec().author(book);
+    }
+
+    int bookCount() {
+        return dataset.getBookIds().length;
+    }
+
+    long randomBook(SplittableRandom random) {
+        return dataset.getBookIds()[random.nextInt(bookCount())];
+    }
+
+    long randomUser(SplittableRandom random) {
+        return dataset.getUserIds()[random.nextInt(dataset.getUserIds().length)];
+    }
+
+    /**
+     * @return a random loan, 0 (no loan) if none has been seeded
+     */
+    long randomLoan(SplittableRandom random) {
+        long[] loans = dataset.getLoanIds();
+        return loans.length > 0 ? loans[random.nextInt(loans.length)] : 0;
+    }
+
+    /**
+     * @return loans not returned, oldest first
+     */
+    long[] getOpenLoans() {
+        return dataset.getOpenLoanIds();
+    }
+
+    /**
+     * @return rows inserted per second
+     */
+    double getRowsPerSecond() {
+        return dataset.getRowsPerSecond();
+    }
+
+    Duration getElapsed() {
+        return dataset.getElapsed();
+    }
+}
@@ -0,0 +1,123 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from loadtest.* properties.
+ *
+ * @since 18.10.2026
+ */
+final class LoadTestSettings {
+
+    /** Requests started per second, whether the earlier ones have finished or not */
+    final double rate;
+
+    /** Run at the rate before measuring, for the JIT and the caches */
+    final Duration warmup;
+
+    /** Measured part of the run */
+    final Duration duration;
+
+    /** Requests in flight at most, further started requests queue for a connection */
+    final int connections;
+
+    /** Share of started requests by workload, weights summing to anything */
+    final Map<Workload, Integer> mix;
+
+    final long seed;
+
+    final int books;
+
+    final int users;
+
+    final int loans;
+
+    /** Exponent of the Zipf distributed popularity of seeded books and users, 0 for uniform */
+    final double skew;
+
+    /** Share of seeded loans not returned yet */
+    final double openLoans;
+
+    final String email;
+
+    final String password;
+
+    /** Runs are written to a subdirectory, history.csv collects the summaries of all runs */
+    final Path output;
+
+    /** Name of the run in history.csv, e.g. the commit or configuration under test */
+    final String label;
+
+    private LoadTestSettings(Environment environment) {
+        rate = environment.getProperty("loadtest.rate", Double.class, 50.0);
+        warmup = duration(environment, "loadtest.warmup", "10s");
+        duration = duration(environment, "loadtest.duration", "60s");
+        connections = environment.getProperty("loadtest.connections", Integer.class, 32);
+        mix = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            mix.put(workload, environment.getProperty("loadtest.mix." + workload.getName(), Integer.class,
+                    workload.getDefaultWeight()));
+        }
+        seed = environment.getProperty("loadtest.seed", Long.class, 42L);
+        books = environment.getProperty("loadtest.books", Integer.class, 10_000);
+        users = environment.getProperty("loadtest.users", Integer.class, 1_000);
+        loans = environment.getProperty("loadtest.loans", Integer.class, 50_000);
+        skew = environment.getProperty("loadtest.skew", Double.class, 0.8);
+        openLoans = environment.getProperty("loadtest.open-loans", Double.class, 0.2);
+        email = environment.getProperty("loadtest.email", "admin@mail.com");
+        password = environment.getProperty("loadtest.password", "admin");
+        output = Paths.get(environment.getProperty("loadtest.output", "loadtest-results"));
+        label = environment.getProperty("loadtest.label", "");
+    }
+
+    /**
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    static LoadTestSettings from(Environment environment) {
+        LoadTestSettings settings = new LoadTestSettings(environment);
+        if (settings.rate <= 0 || settings.connections < 1 || settings.duration.isZero() || settings.duration.isNegative()) {
+            throw new IllegalArgumentException("Rate, connections and duration of a load test must be positive.");
+        }
+        if (settings.mix.values().stream().anyMatch(weight -> weight < 0)
+                || settings.mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Weights of the workloads must not be negative and not all zero.");
+        }
+        if (settings.books < 1 || settings.users < 1 || settings.loans < 0 || settings.skew < 0
+                || settings.openLoans < 0 || settings.openLoans > 1) {
+            throw new IllegalArgumentException("The dataset needs a book and a user, skew must not be negative "
+                    + "and open loans are a share of loans.");
+        }
+        return settings;
+    }
+
+    /**
+     * @return the settings as written next to the results of the run
+     */
+    Map<String, String> describe() {
+        Map<String, String> description = new LinkedHashMap<>();
+        description.put("loadtest.rate", String.valueOf(rate));
+        description.put("loadtest.warmup", warmup.toString());
+        description.put("loadtest.duration", duration.toString());
+        description.put("loadtest.connections", String.valueOf(connections));
+        mix.forEach((workload, weight) -> description.put("loadtest.mix." + workload.getName(), String.valueOf(weight)));
+        description.put("loadtest.seed", String.valueOf(seed));
+        description.put("loadtest.books", String.valueOf(books));
+        description.put("loadtest.users", String.valueOf(users));
+        description.put("loadtest.loans", String.valueOf(loans));
+        description.put("loadtest.skew", String.valueOf(skew));
+        description.put("loadtest.open-loans", String.valueOf(openLoans));
+        description.put("loadtest.label", label);
+        return description;
+    }
+
+    private static Duration duration(Environment environment, String key, String defaultValue) {
+        return DurationStyle.detectAndParse(environment.getProperty(key, defaultValue));
+    }
+}
@@ -0,0 +1,125 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import org.springframework.web.util.UriUtils;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Kinds of requests of the mixed load, each reported on its own.
+ *
+ * Requests are prepared by the scheduling thread from its seeded random generator,
+ * so a run with the same seed and settings starts the same requests in the same order.
+ *
+ * @since 18.10.2026
+ */
+enum Workload {
+
+    /** Books by a title or an author */
+    SEARCH("search", 40) {
+        @Override
+        Call prepare(LoadTarget target, SplittableRandom random) {
+            int book = random.nextInt(target.dataset.bookCount());
+            String path = random.nextBoolean()
+                    ? "/books_title/" + encode(target.dataset.title(book))
+                    : "/books_author/" + encode(target.dataset.author(book));
+            return () -> target.client.get(path);
+        }
+    },
+
+    /** First page of the loans of a user */
+    LIST("list", 30) {
+        @Override
+        Call prepare(LoadTarget target, SplittableRandom random) {
+            String path = "/users/" + target.dataset.randomUser(random) + "/loans?page=0&size=20";
+            return () -> target.client.get(path);
+        }
+    },
+
+    /** A loan of a book, 409 if no copy of the book is available */
+    BORROW("borrow", 10) {
+        @Override
+        Call prepare(LoadTarget target, SplittableRandom random) {
+            String json = "{\"book\":{\"id\":" + target.dataset.randomBook(random) + "},"
+                    + "\"user\":{\"id\":" + target.dataset.randomUser(random) + "},"
+                    + "\"registeredAt\":\"" + LocalDateTime.now() + "\"}";
+            return () -> {
+                LibraryClient.Response response = target.client.post("/loans", json);
+                if (response.status == 200) {
+                    target.openLoans.add(Long.valueOf(response.body.trim()));
+                }
+                return response;
+            };
+        }
+
+        @Override
+        boolean expected(int status) {
+            return super.expected(status) || status == 409;
+        }
+    },
+
+    /** Return of the longest open loan, of a random loan once all loans have been returned */
+    RETURN("return", 10) {
+        @Override
+        Call prepare(LoadTarget target, SplittableRandom random) {
+            Long open = target.openLoans.poll();
+            long loan = open != null ? open : target.dataset.randomLoan(random);
+            String json = "{\"returnedAt\":\"" + LocalDateTime.now() + "\",\"returnCondition\":\"good\"}";
+            return () -> target.client.put("/loan_update/" + loan, json);
+        }
+    },
+
+    /** Exchange of a password for a token, the password is checked by BCrypt */
+    LOGIN("login", 10) {
+        @Override
+        Call prepare(LoadTarget target, SplittableRandom random) {
+            String json = LibraryClient.loginJson(target.email, target.password);
+            return () -> target.client.post("/login", json);
+        }
+    };
+
+    private final String name;
+
+    private final int defaultWeight;
+
+    Workload(String name, int defaultWeight) {
+        this.name = name;
+        this.defaultWeight = defaultWeight;
+    }
+
+    /**
+     * @return name in settings and reports
+     */
+    String getName() {
+        return name;
+    }
+
+    int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * @return the next request of this kind, to be sent by a client thread
+     */
+    abstract Call prepare(LoadTarget target, SplittableRandom random);
+
+    /**
+     * @return whether the status is a regular answer rather than an error
+     */
+    boolean expected(int status) {
+        return status / 100 == 2;
+    }
+
+    private static String encode(String pathSegment) {
+        return UriUtils.encodePathSegment(pathSegment, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A prepared request.
+     */
+    interface Call {
+
+        LibraryClient.Response execute() throws IOException;
+    }
+}
@@ -0,0 +1,114 @@
+package cz.muni.fi.pa165.library.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and answers of the measured requests of one workload.
+ *
+ * The latency of a request runs from the time it was due to start by the arrival rate,
+ * so time it spent waiting for a free connection behind slow requests is included
+ * (corrected for coordinated omission). The service time runs from the moment it was sent.
+ * Both are recorded in nanoseconds.
+ *
+ * @since 18.10.2026
+ */
+final class WorkloadStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Workload workload;
+
+    private final Recorder latency = new Recorder(SIGNIFICANT_DIGITS);
+
+    private final Recorder service = new Recorder(SIGNIFICANT_DIGITS);
+
+    private final Histogram totalLatency = new Histogram(SIGNIFICANT_DIGITS);
+
+    private final Histogram totalService = new Histogram(SIGNIFICANT_DIGITS);
+
+    /** Failed connections and unexpected statuses */
+    private final LongAdder errors = new LongAdder();
+
+    /** Requests by status, -1 for failed connections */
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    /** Start of the next interval, epoch milliseconds */
+    private long intervalStart;
+
+    WorkloadStats(Workload workload) {
+        this.workload = workload;
+    }
+
+    /**
+     * @param due    System.nanoTime the request was due to start
+     * @param sent   System.nanoTime it was sent
+     * @param done   System.nanoTime its answer was read
+     * @param status of the answer, -1 if the request failed
+     */
+    void record(long due, long sent, long done, int status) {
+        latency.recordValue(done - due);
+        service.recordValue(done - sent);
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (status < 0 || !workload.expected(status)) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * starts the first interval, see interval
+     *
+     * @param millis epoch milliseconds the measurement starts at
+     */
+    synchronized void start(long millis) {
+        intervalStart = millis;
+    }
+
+    /**
+     * adds the latencies recorded since the last call to the totals
+     *
+     * @return the latencies recorded since the last call or the start, tagged by the workload
+     */
+    synchronized Histogram interval() {
+        Histogram interval = latency.getIntervalHistogram();
+        interval.setTag(workload.getName());
+        interval.setStartTimeStamp(intervalStart);
+        intervalStart = interval.getEndTimeStamp();
+        totalLatency.add(interval);
+        totalService.add(service.getIntervalHistogram());
+        return interval;
+    }
+
+    Workload getWorkload() {
+        return workload;
+    }
+
+    /**
+     * @return latencies of all requests measured so far, see interval
+     */
+    synchronized Histogram getLatency() {
+        return totalLatency.copy();
+    }
+
+    /**
+     * @return service times of all requests measured so far, see interval
+     */
+    synchronized Histogram getServiceTime() {
+        return totalService.copy();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
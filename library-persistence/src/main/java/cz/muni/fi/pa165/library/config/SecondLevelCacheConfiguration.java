@@ -0,0 +1,84 @@
+package cz.muni.fi.pa165.library.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache of books and users and the query cache, held on the heap by Ehcache through JCache.
+ *
+ * Entity regions and the query results region are bounded by number of entries and expire
+ * entries after their time to live. The update timestamps region, which tells whether a cached
+ * query result is still valid, never expires. Set library.cache.enabled=false to turn caching off.
+ * Contexts without this configuration, e.g. JPA test slices, run without the cache, see hibernate.properties.
+ * Hibernate statistics, served at /rest/admin/caches/second-level, are collected only
+ * with library.cache.statistics=true.
+ *
+ * @since 18.10.2026
+ */
+@Configuration
+public class SecondLevelCacheConfiguration {
+
+    public static final String BOOK_REGION = "book";
+
+    public static final String USER_REGION = "user";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${library.cache.entity.max-entries:10000}") long entityMaxEntries,
+            @Value("${library.cache.entity.ttl:10m}") Duration entityTtl,
+            @Value("${library.cache.query.max-entries:1000}") long queryMaxEntries,
+            @Value("${library.cache.query.ttl:5m}") Duration queryTtl) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                EhcacheCachingProvider.class.getName());
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(BOOK_REGION, expiring(entityMaxEntries, entityTtl))
+                .withCache(USER_REGION, expiring(entityMaxEntries, entityTtl))
+                .withCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, expiring(queryMaxEntries, queryTtl))
+                .withCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                        CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                                ResourcePoolsBuilder.heap(1000)))
+                .build();
+        // a distinct URI per application context, the provider would hand out an already existing manager otherwise
+        return provider.getCacheManager(URI.create("urn:library:second-level-cache:" + UUID.randomUUID()), configuration);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            CacheManager secondLevelCacheManager,
+            @Value("${library.cache.enabled:true}") boolean enabled,
+            @Value("${library.cache.statistics:false}") boolean statistics) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, JCacheRegionFactory.class.getName());
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+
+    private static CacheConfiguration<Object, Object> expiring(long maxEntries, Duration ttl) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(ttl))
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+package cz.muni.fi.pa165.library.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SQL statements, JDBC time and entity loads of one unit of work (an HTTP request) on one thread.
+ *
+ * Accounting starts with begin and ends with end on the same thread, in between Hibernate
+ * reports to the statistics of the current thread, see SqlStatisticsConfiguration.
+ * Work done on other threads or outside begin and end is not accounted.
+ * When repeats are counted, every statement is also counted by its SQL text,
+ * so that a statement issued once per loaded row (N+1 selects) stands out.
+ *
+ * @since 18.10.2026
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long jdbcNanos;
+
+    private long entityLoads;
+
+    /** Executions by SQL text, null unless repeats are counted */
+    private final Map<String, Integer> executions;
+
+    private SqlStatistics(boolean countRepeats) {
+        this.executions = countRepeats ? new HashMap<>() : null;
+    }
+
+    /**
+     * starts accounting on the current thread, statistics begun before are discarded
+     *
+     * @param countRepeats whether to count statements by their SQL text
+     * @return statistics of the current thread
+     */
+    public static SqlStatistics begin(boolean countRepeats) {
+        SqlStatistics statistics = new SqlStatistics(countRepeats);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return statistics of the current thread, null if accounting has not begun
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * stops accounting on the current thread
+     *
+     * @return the final statistics, null if accounting has not begun
+     */
+    public static SqlStatistics end() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    void statement(String sql) {
+        statements++;
+        if (executions != null) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void jdbc(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    /**
+     * @return number of SQL statements prepared, a JDBC batch is one statement
+     */
+    public long getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return time spent executing statements and batches
+     */
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * @return number of entities loaded from the database or the second-level cache
+     */
+    public long getEntityLoads() {
+        return entityLoads;
+    }
+
+    /**
+     * @param threshold least number of executions
+     * @return SQL texts executed at least threshold times with their counts, most executed first,
+     * empty if repeats are not counted
+     */
+    public List<Map.Entry<String, Integer>> getRepeated(int threshold) {
+        if (executions == null) {
+            return Collections.emptyList();
+        }
+        List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> execution : executions.entrySet()) {
+            if (execution.getValue() >= threshold) {
+                repeated.add(execution);
+            }
+        }
+        repeated.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+        return repeated;
+    }
+}
@@ -0,0 +1,111 @@
+package cz.muni.fi.pa165.library.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.boot.Metadata;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.Collections;
+
+/**
+ * Reports statements, JDBC time and entity loads of Hibernate to the {@link SqlStatistics}
+ * of the current thread.
+ *
+ * Statements are counted by a statement inspector, JDBC time by a listener of every session
+ * and entity loads by a post-load listener. While no accounting has begun on a thread,
+ * each of them costs a thread local lookup. Set library.sql.statistics.enabled=false to leave them out.
+ *
+ * @since 18.10.2026
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.sql.statistics.enabled", matchIfMissing = true)
+public class SqlStatisticsConfiguration {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatisticsCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingListener.class.getName());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> Collections.singletonList(new PostLoadCountingIntegrator()));
+        };
+    }
+
+    static class CountingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.statement(sql);
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Created by Hibernate for every session, so it is used by one thread at a time.
+     */
+    public static class JdbcTimingListener extends BaseSessionEventListener {
+
+        private long start;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            executed();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            executed();
+        }
+
+        private void executed() {
+            SqlStatistics statistics = SqlStatistics.current();
+            if (statistics != null) {
+                statistics.jdbc(System.nanoTime() - start);
+            }
+        }
+    }
+
+    static class PostLoadCountingIntegrator implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                              SessionFactoryServiceRegistry serviceRegistry) {
+            PostLoadEventListener listener = (PostLoadEvent event) -> {
+                SqlStatistics statistics = SqlStatistics.current();
+                if (statistics != null) {
+                    statistics.entityLoaded();
+                }
+            };
+            serviceRegistry.getService(EventListenerRegistry.class).appendListeners(EventType.POST_LOAD, listener);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
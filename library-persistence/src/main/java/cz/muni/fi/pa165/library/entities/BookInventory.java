@@ -0,0 +1,78 @@
+package cz.muni.fi.pa165.library.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.Objects;
+
+/**
+ * Copies of one book held by the library and how many of them are on the shelf.
+ *
+ * Kept apart from {@link Book}, so updates of the counters neither touch the book row
+ * nor evict books from the second-level cache.
+ * The counters are changed by conditional updates, see BookInventoryRepository.
+ *
+ * @since 18.10.2026
+ */
+@Entity
+@Table(name = "book_inventory")
+public class BookInventory {
+
+    @Id
+    @Column(name = "book_id")
+    private long bookId;
+
+    private int copies;
+
+    @Column(name = "available_copies")
+    private int availableCopies;
+
+    public BookInventory() {
+    }
+
+    public BookInventory(long bookId, int copies, int availableCopies) {
+        this.bookId = bookId;
+        this.copies = copies;
+        this.availableCopies = availableCopies;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(long bookId) {
+        this.bookId = bookId;
+    }
+
+    public int getCopies() {
+        return copies;
+    }
+
+    public void setCopies(int copies) {
+        this.copies = copies;
+    }
+
+    public int getAvailableCopies() {
+        return availableCopies;
+    }
+
+    public void setAvailableCopies(int availableCopies) {
+        this.availableCopies = availableCopies;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BookInventory that = (BookInventory) o;
+        return bookId == that.bookId &&
+                copies == that.copies &&
+                availableCopies == that.availableCopies;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bookId, copies, availableCopies);
+    }
+}
@@ -0,0 +1,84 @@
+package cz.muni.fi.pa165.library.entities;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.util.Objects;
+
+/**
+ * One overdue loan listed in the report of an {@link OverdueScan}.
+ *
+ * @since 18.10.2026
+ */
+@Embeddable
+public class OverdueLoan {
+
+    @Column(name = "loan_id")
+    private long loanId;
+
+    @Column(name = "book_id")
+    private long bookId;
+
+    @Column(name = "user_id")
+    private long userId;
+
+    @Column(name = "days_overdue")
+    private long daysOverdue;
+
+    public OverdueLoan() {
+    }
+
+    public OverdueLoan(long loanId, long bookId, long userId, long daysOverdue) {
+        this.loanId = loanId;
+        this.bookId = bookId;
+        this.userId = userId;
+        this.daysOverdue = daysOverdue;
+    }
+
+    public long getLoanId() {
+        return loanId;
+    }
+
+    public void setLoanId(long loanId) {
+        this.loanId = loanId;
+    }
+
+    public long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(long bookId) {
+        this.bookId = bookId;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    public long getDaysOverdue() {
+        return daysOverdue;
+    }
+
+    public void setDaysOverdue(long daysOverdue) {
+        this.daysOverdue = daysOverdue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OverdueLoan that = (OverdueLoan) o;
+        return loanId == that.loanId &&
+                bookId == that.bookId &&
+                userId == that.userId &&
+                daysOverdue == that.daysOverdue;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(loanId, bookId, userId, daysOverdue);
+    }
+}
@@ -0,0 +1,171 @@
+package cz.muni.fi.pa165.library.entities;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import javax.persistence.CollectionTable;
+import javax.persistence.Column;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.OrderColumn;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One run of the overdue loan scan, both its checkpoint and its report.
+ *
+ * The scan walks open loans in the order of their ids and after every chunk
+ * stores the id of the last scanned loan together with the counts so far,
+ * so a scan interrupted by a restart continues where it stopped.
+ * All loans of one scan are judged as of the same time, asOf.
+ * A scan is finished once finishedAt is set.
+ *
+ * @since 18.10.2026
+ */
+@Entity
+@Table(name = "overdue_scan")
+public class OverdueScan {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "overdue_scan_seq")
+    @GenericGenerator(name = "overdue_scan_seq", strategy = "cz.muni.fi.pa165.library.entities.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "overdue_scan_seq"))
+    private long id;
+
+    @NotNull
+    @Column(name = "as_of")
+    private LocalDateTime asOf;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    /** Id of the last scanned loan, 0 before the first chunk */
+    @Column(name = "last_loan_id")
+    private long lastLoanId;
+
+    private long scanned;
+
+    private long overdue;
+
+    /** Overdue loans by days overdue: less than a week, less than thirty days, thirty days or more */
+    @Column(name = "overdue_week")
+    private long overdueWeek;
+
+    @Column(name = "overdue_month")
+    private long overdueMonth;
+
+    @Column(name = "overdue_longer")
+    private long overdueLonger;
+
+    /** Time spent scanning, summed over restarts */
+    @Column(name = "duration_millis")
+    private long durationMillis;
+
+    /** Loans overdue for the longest time, most overdue first */
+    @ElementCollection
+    @CollectionTable(name = "overdue_scan_loan", joinColumns = @JoinColumn(name = "scan_id"))
+    @OrderColumn(name = "list_index")
+    private List<OverdueLoan> longestOverdue = new ArrayList<>();
+
+    public OverdueScan() {
+    }
+
+    public OverdueScan(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public long getLastLoanId() {
+        return lastLoanId;
+    }
+
+    public void setLastLoanId(long lastLoanId) {
+        this.lastLoanId = lastLoanId;
+    }
+
+    public long getScanned() {
+        return scanned;
+    }
+
+    public void setScanned(long scanned) {
+        this.scanned = scanned;
+    }
+
+    public long getOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(long overdue) {
+        this.overdue = overdue;
+    }
+
+    public long getOverdueWeek() {
+        return overdueWeek;
+    }
+
+    public void setOverdueWeek(long overdueWeek) {
+        this.overdueWeek = overdueWeek;
+    }
+
+    public long getOverdueMonth() {
+        return overdueMonth;
+    }
+
+    public void setOverdueMonth(long overdueMonth) {
+        this.overdueMonth = overdueMonth;
+    }
+
+    public long getOverdueLonger() {
+        return overdueLonger;
+    }
+
+    public void setOverdueLonger(long overdueLonger) {
+        this.overdueLonger = overdueLonger;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public List<OverdueLoan> getLongestOverdue() {
+        return longestOverdue;
+    }
+
+    public void setLongestOverdue(List<OverdueLoan> longestOverdue) {
+        this.longestOverdue = longestOverdue;
+    }
+}
@@ -1,11 +1,17 @@
 package cz.muni.fi.pa165.library.entities;
 
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -15,9 +21,17 @@ import java.util.Objects;
  * @since 25.03.2020
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "single_loan_registered_at_id_idx", columnList = "registered_at, id"),
+        @Index(name = "single_loan_book_id_returned_at_idx", columnList = "book_id, returned_at"),
+        @Index(name = "single_loan_user_id_returned_at_idx", columnList = "user_id, returned_at"),
+        @Index(name = "single_loan_returned_at_id_idx", columnList = "returned_at, id")
+})
 public class SingleLoan {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "single_loan_seq")
+    @GenericGenerator(name = "single_loan_seq", strategy = "cz.muni.fi.pa165.library.entities.PooledSequenceGenerator",
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "single_loan_seq"))
     private long id;
 
     @ManyToOne
@@ -29,8 +43,10 @@ public class SingleLoan {
     private User user;
 
     @NotNull
+    @Column(name = "registered_at")
     private LocalDateTime registeredAt;
 
+    @Column(name = "returned_at")
     private LocalDateTime returnedAt;
 
     /** @author Martin Páleník 359817
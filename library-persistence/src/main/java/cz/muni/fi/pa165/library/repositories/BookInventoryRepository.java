@@ -0,0 +1,60 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import cz.muni.fi.pa165.library.entities.BookInventory;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Counters of book copies.
+ *
+ * Every change is a single conditional UPDATE, so the database never lends more copies
+ * than there are, even when several instances of the application lend the same book.
+ * Each method returns the number of updated rows, 0 means the condition did not hold
+ * (or the book has no inventory yet). Must be called inside a transaction.
+ *
+ * @since 18.10.2026
+ */
+@Repository
+public interface BookInventoryRepository extends CrudRepository<BookInventory, Long> {
+
+    /**
+     * @param bookId id of the book
+     * @return 1 if a copy has been taken from the shelf, 0 if no copy is available
+     */
+    @Modifying
+    @Query("update BookInventory i set i.availableCopies = i.availableCopies - 1"
+            + " where i.bookId = :bookId and i.availableCopies > 0")
+    int takeCopy(@Param("bookId") long bookId);
+
+    /**
+     * @param bookId id of the book
+     * @return 1 if a copy has been put back on the shelf, 0 if all copies are already there
+     */
+    @Modifying
+    @Query("update BookInventory i set i.availableCopies = i.availableCopies + 1"
+            + " where i.bookId = :bookId and i.availableCopies < i.copies")
+    int returnCopy(@Param("bookId") long bookId);
+
+    /**
+     * changes the number of copies, copies being lent stay lent
+     *
+     * @param bookId id of the book
+     * @param copies new number of copies
+     * @return 1 if the number has been changed, 0 if more than copies copies are being lent
+     */
+    @Modifying
+    @Query("update BookInventory i set i.availableCopies = i.availableCopies + :copies - i.copies, i.copies = :copies"
+            + " where i.bookId = :bookId and i.copies - i.availableCopies <= :copies")
+    int setCopies(@Param("bookId") long bookId, @Param("copies") int copies);
+
+    /**
+     * @param bookId id of the deleted book
+     * @return 1 if the inventory has been deleted, 0 if the book had none
+     */
+    @Modifying
+    @Query("delete from BookInventory i where i.bookId = :bookId")
+    int deleteByBookId(@Param("bookId") long bookId);
+}
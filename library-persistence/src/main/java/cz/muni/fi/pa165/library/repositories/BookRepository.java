@@ -1,10 +1,17 @@
 package cz.muni.fi.pa165.library.repositories;
 
 import cz.muni.fi.pa165.library.entities.Book;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import javax.persistence.QueryHint;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 /**
  * @author Petr Janik 485122
  * @since 09.03.2020
@@ -12,11 +19,42 @@ import java.util.List;
  * Data access object interface
  */
 @Repository
-public interface BookRepository extends CrudRepository<Book, Long> {
+public interface BookRepository extends PagingAndSortingRepository<Book, Long> {
 
     /**
      *
      * @return list of all existing books
      */
     List<Book> findAll();
+
+    /**
+     * loads only the (title, author) identity of every book
+     *
+     * @return new unmanaged books holding just title and author
+     */
+    @Query("select new cz.muni.fi.pa165.library.entities.Book(b.title, b.author) from Book b")
+    List<Book> findAllTitlesAndAuthors();
+
+    /*
+     * Keyset pagination: every page continues right after the (value, id) pair
+     * of the last row of the previous page, backed by the (title, id)
+     * and (author, id) indexes. Pages are kept in the query cache until the book table changes.
+     */
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Book> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Book> findAllByOrderByTitleAscIdAsc(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select b from Book b where b.title > :title or (b.title = :title and b.id > :id) order by b.title, b.id")
+    List<Book> findByTitleAfter(@Param("title") String title, @Param("id") long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Book> findAllByOrderByAuthorAscIdAsc(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select b from Book b where b.author > :author or (b.author = :author and b.id > :id) order by b.author, b.id")
+    List<Book> findByAuthorAfter(@Param("author") String author, @Param("id") long id, Pageable pageable);
 }
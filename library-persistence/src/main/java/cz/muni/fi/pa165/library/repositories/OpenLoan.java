@@ -0,0 +1,20 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of an open loan read by scans over all open loans,
+ * neither the book nor the user is loaded.
+ *
+ * @since 18.10.2026
+ */
+public interface OpenLoan {
+
+    long getId();
+
+    long getBookId();
+
+    long getUserId();
+
+    LocalDateTime getRegisteredAt();
+}
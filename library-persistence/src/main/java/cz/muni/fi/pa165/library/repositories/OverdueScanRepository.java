@@ -0,0 +1,25 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import cz.muni.fi.pa165.library.entities.OverdueScan;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+/**
+ * Checkpoints and reports of overdue loan scans.
+ *
+ * @since 18.10.2026
+ */
+@Repository
+public interface OverdueScanRepository extends CrudRepository<OverdueScan, Long> {
+
+    /**
+     * @return the latest scan which has not finished, to be resumed
+     */
+    Optional<OverdueScan> findFirstByFinishedAtIsNullOrderByIdDesc();
+
+    /**
+     * @return the latest finished scan
+     */
+    Optional<OverdueScan> findFirstByFinishedAtIsNotNullOrderByIdDesc();
+}
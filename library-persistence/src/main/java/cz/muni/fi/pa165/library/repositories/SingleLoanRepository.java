@@ -1,15 +1,121 @@
 package cz.muni.fi.pa165.library.repositories;
 
 import cz.muni.fi.pa165.library.entities.SingleLoan;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 /**
  * @author Martin Páleník 359817
  * based on http://zetcode.com/springboot/crudrepository/
  */
 @Repository
-public interface SingleLoanRepository extends CrudRepository<SingleLoan, Long> {
+public interface SingleLoanRepository extends PagingAndSortingRepository<SingleLoan, Long> {
     List<SingleLoan> findAll();
+
+    /**
+     * All loans ordered by id, read lazily from an open cursor
+     * with book and user fetched in the same query.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return stream of all loans
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("select l from SingleLoan l join fetch l.book join fetch l.user order by l.id")
+    Stream<SingleLoan> streamAll();
+
+    /**
+     * Loans of one user, filtered by the user_id column,
+     * books are fetched in the same query, the one user comes from the second-level cache.
+     * @param userId id of the user
+     * @param pageable requested page
+     * @return page of loans for the given user
+     */
+    @Query("select l from SingleLoan l join fetch l.book where l.user.id = :userId")
+    List<SingleLoan> findByUserId(@Param("userId") long userId, Pageable pageable);
+
+    /**
+     * Loans of one book, filtered by the book_id column,
+     * users are fetched in the same query, the one book comes from the second-level cache.
+     * @param bookId id of the book
+     * @param pageable requested page
+     * @return page of loans for the given book
+     */
+    @Query("select l from SingleLoan l join fetch l.user where l.book.id = :bookId")
+    List<SingleLoan> findByBookId(@Param("bookId") long bookId, Pageable pageable);
+
+    /*
+     * Open loans (not returned yet), filtered by the (user_id, returned_at) and (book_id, returned_at) indexes,
+     * so their cost does not grow with the number of returned loans.
+     */
+
+    /**
+     * @param userId id of the user
+     * @return loans of the user which have not been returned yet, ordered by id, with fetched books
+     */
+    @Query("select l from SingleLoan l join fetch l.book where l.user.id = :userId and l.returnedAt is null order by l.id")
+    List<SingleLoan> findOpenByUserId(@Param("userId") long userId);
+
+    /**
+     * @param bookId id of the book
+     * @return loans of the book which have not been returned yet, ordered by id, with fetched users
+     */
+    @Query("select l from SingleLoan l join fetch l.user where l.book.id = :bookId and l.returnedAt is null order by l.id")
+    List<SingleLoan> findOpenByBookId(@Param("bookId") long bookId);
+
+    /**
+     * @param bookId id of the book
+     * @return number of loans of the book which have not been returned yet
+     */
+    long countByBookIdAndReturnedAtIsNull(long bookId);
+
+    /**
+     * Keyset page of all open loans, backed by the (returned_at, id) index.
+     * @param id id of the last loan of the previous page, 0 for the first page
+     * @param pageable limit of the page
+     * @return open loans with id greater than the given one, ordered by id
+     */
+    @Query("select l from SingleLoan l join fetch l.book join fetch l.user"
+            + " where l.returnedAt is null and l.id > :id order by l.id")
+    List<SingleLoan> findOpenByIdAfter(@Param("id") long id, Pageable pageable);
+
+    /**
+     * Keyset page of all open loans without loading their books and users,
+     * backed by the (returned_at, id) index.
+     * @param id id of the last loan of the previous page, 0 for the first page
+     * @param pageable limit of the page
+     * @return open loans with id greater than the given one, ordered by id
+     */
+    @Query("select l.id as id, l.book.id as bookId, l.user.id as userId, l.registeredAt as registeredAt"
+            + " from SingleLoan l where l.returnedAt is null and l.id > :id order by l.id")
+    List<OpenLoan> findOpenLoanRowsAfter(@Param("id") long id, Pageable pageable);
+
+    /*
+     * Keyset pagination: every page continues right after the (value, id) pair
+     * of the last row of the previous page, backed by the (registered_at, id) index.
+     */
+
+    @Query("select l from SingleLoan l join fetch l.book join fetch l.user where l.id > :id order by l.id")
+    List<SingleLoan> findByIdAfter(@Param("id") long id, Pageable pageable);
+
+    @Query("select l from SingleLoan l join fetch l.book join fetch l.user order by l.registeredAt, l.id")
+    List<SingleLoan> findAllOrderedByRegisteredAt(Pageable pageable);
+
+    @Query("select l from SingleLoan l join fetch l.book join fetch l.user"
+            + " where l.registeredAt > :registeredAt or (l.registeredAt = :registeredAt and l.id > :id)"
+            + " order by l.registeredAt, l.id")
+    List<SingleLoan> findByRegisteredAtAfter(@Param("registeredAt") LocalDateTime registeredAt,
+                                             @Param("id") long id, Pageable pageable);
 }
@@ -1,9 +1,17 @@
 package cz.muni.fi.pa165.library.repositories;
 
 import cz.muni.fi.pa165.library.entities.User;
-import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 /**
  * DAO layer interface
@@ -13,11 +21,60 @@ import java.util.List;
  * Github katHermanova
  */
 @Repository
-public interface UserRepository extends CrudRepository<User, Long> {
+public interface UserRepository extends PagingAndSortingRepository<User, Long> {
 
     /**
      *
      * @return list of all existing users
      */
     List<User> findAll();
+
+    /**
+     * looks the user up through the unique index on the email column,
+     * the result is kept in the query cache until the user table changes
+     *
+     * @param email of the user
+     * @return user having given email if exists
+     */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    Optional<User> findByEmail(String email);
+
+    /**
+     *
+     * @param email of the user
+     * @return true if some user already uses given email
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     *
+     * @param firstName of the users
+     * @return users having given first name, looked up through the first_name index
+     */
+    List<User> findByFirstName(String firstName);
+
+    /**
+     *
+     * @param lastName of the users
+     * @return users having given last name, looked up through the (last_name, id) index
+     */
+    List<User> findByLastName(String lastName);
+
+    /**
+     *
+     * @return list of all librarians
+     */
+    List<User> findByIsLibrarianTrue();
+
+    /*
+     * Keyset pagination: every page continues right after the (value, id) pair
+     * of the last row of the previous page, backed by the (last_name, id) index.
+     */
+
+    List<User> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    List<User> findAllByOrderByLastNameAscIdAsc(Pageable pageable);
+
+    @Query("select u from User u where u.lastName > :lastName or (u.lastName = :lastName and u.id > :id) order by u.lastName, u.id")
+    List<User> findByLastNameAfter(@Param("lastName") String lastName, @Param("id") long id, Pageable pageable);
 }
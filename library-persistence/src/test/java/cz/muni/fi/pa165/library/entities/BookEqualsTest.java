@@ -46,6 +46,7 @@ public class BookEqualsTest {
     public void testDetachedAndMangedBookIsTheSame() {
         Book book1 = new Book("Title1", "Author1");
         em.persist(book1);
+        em.flush();
         em.detach(book1);
         Book book2 = em.find(Book.class, book1.getId());
         Assert.assertTrue(book1.equals(book2));
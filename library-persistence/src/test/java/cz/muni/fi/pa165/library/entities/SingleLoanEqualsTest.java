@@ -77,6 +77,7 @@ public class SingleLoanEqualsTest {
         em.persist(user1);
         SingleLoan singleLoan1 = new SingleLoan(book1, user1, LocalDateTime.now());
         em.persist(singleLoan1);
+        em.flush();
         em.detach(singleLoan1);
         SingleLoan singleLoan2 = em.find(SingleLoan.class, singleLoan1.getId());
         Assert.assertTrue(singleLoan1.equals(singleLoan2));
@@ -54,6 +54,7 @@ public class UserEqualsTest {
         User user1 = new User("FirstName1", "LastName1", "FL1@mail.com", true);
         user1.setPasswordHash("hash1");
         em.persist(user1);
+        em.flush();
         em.detach(user1);
         User user2 = em.find(User.class, user1.getId());
         Assert.assertTrue(user1.equals(user2));
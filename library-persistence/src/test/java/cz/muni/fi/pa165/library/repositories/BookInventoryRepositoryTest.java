@@ -0,0 +1,66 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import cz.muni.fi.pa165.library.entities.BookInventory;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class BookInventoryRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookInventoryRepository bookInventoryRepository;
+
+    @Test
+    public void takeAndReturnCopies() {
+        entityManager.persistAndFlush(new BookInventory(1, 2, 2));
+
+        Assert.assertEquals(1, bookInventoryRepository.takeCopy(1));
+        Assert.assertEquals(1, bookInventoryRepository.takeCopy(1));
+        Assert.assertEquals(0, bookInventoryRepository.takeCopy(1));
+        Assert.assertEquals(new BookInventory(1, 2, 0), reload(1));
+
+        Assert.assertEquals(1, bookInventoryRepository.returnCopy(1));
+        Assert.assertEquals(1, bookInventoryRepository.returnCopy(1));
+        Assert.assertEquals(0, bookInventoryRepository.returnCopy(1));
+        Assert.assertEquals(new BookInventory(1, 2, 2), reload(1));
+    }
+
+    @Test
+    public void setCopies() {
+        entityManager.persistAndFlush(new BookInventory(1, 3, 1));
+
+        Assert.assertEquals(1, bookInventoryRepository.setCopies(1, 5));
+        Assert.assertEquals(new BookInventory(1, 5, 3), reload(1));
+
+        Assert.assertEquals(1, bookInventoryRepository.setCopies(1, 2));
+        Assert.assertEquals(new BookInventory(1, 2, 0), reload(1));
+
+        // two copies are lent
+        Assert.assertEquals(0, bookInventoryRepository.setCopies(1, 1));
+        Assert.assertEquals(new BookInventory(1, 2, 0), reload(1));
+    }
+
+    @Test
+    public void updatesOfMissingInventory() {
+        Assert.assertEquals(0, bookInventoryRepository.takeCopy(1));
+        Assert.assertEquals(0, bookInventoryRepository.returnCopy(1));
+        Assert.assertEquals(0, bookInventoryRepository.setCopies(1, 1));
+    }
+
+    private BookInventory reload(long bookId) {
+        entityManager.clear();
+        return entityManager.find(BookInventory.class, bookId);
+    }
+}
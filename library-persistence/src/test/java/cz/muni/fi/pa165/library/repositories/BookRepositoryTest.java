@@ -7,8 +7,11 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -49,6 +52,45 @@ public class BookRepositoryTest {
         Assert.assertEquals(Arrays.asList(book1, book2), bookRepository.findAll());
     }
 
+    @Test
+    public void testKeysetPagesByTitle() {
+        Book book1 = new Book("Animal Farm", "George Orwell");
+        Book book2 = new Book("1984", "George Orwell");
+        Book book3 = new Book("Animal Farm", "Another Author");
+        Book book4 = new Book("Brave New World", "Aldous Huxley");
+        bookRepository.saveAll(Arrays.asList(book1, book2, book3, book4));
+
+        PageRequest two = PageRequest.of(0, 2);
+        Assert.assertEquals(Arrays.asList(book2, book1), bookRepository.findAllByOrderByTitleAscIdAsc(two));
+        Assert.assertEquals(Arrays.asList(book3, book4),
+                bookRepository.findByTitleAfter(book1.getTitle(), book1.getId(), two));
+        Assert.assertEquals(Arrays.asList(),
+                bookRepository.findByTitleAfter(book4.getTitle(), book4.getId(), two));
+    }
+
+    @Test
+    public void testKeysetPagesById() {
+        Book book1 = new Book("Animal Farm", "George Orwell");
+        Book book2 = new Book("1984", "George Orwell");
+        Book book3 = new Book("Brave New World", "Aldous Huxley");
+        bookRepository.saveAll(Arrays.asList(book1, book2, book3));
+
+        PageRequest two = PageRequest.of(0, 2);
+        Assert.assertEquals(Arrays.asList(book1, book2), bookRepository.findByIdGreaterThanOrderByIdAsc(0, two));
+        Assert.assertEquals(Arrays.asList(book3), bookRepository.findByIdGreaterThanOrderByIdAsc(book2.getId(), two));
+    }
+
+    @Test
+    public void testFindAllTitlesAndAuthors() {
+        Book book1 = new Book("Animal Farm", "George Orwell");
+        Book book2 = new Book("1984", "George Orwell");
+        bookRepository.saveAll(Arrays.asList(book1, book2));
+
+        List<Book> titlesAndAuthors = bookRepository.findAllTitlesAndAuthors();
+        Assert.assertEquals(new HashSet<>(Arrays.asList(book1, book2)), new HashSet<>(titlesAndAuthors));
+        Assert.assertEquals(0, titlesAndAuthors.get(0).getId());
+    }
+
     @Test
     public void testAddingTwoBooksInList() {
         Book book1 = new Book("Animal Farm", "George Orwell");
@@ -0,0 +1,51 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import cz.muni.fi.pa165.library.entities.OverdueLoan;
+import cz.muni.fi.pa165.library.entities.OverdueScan;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.junit4.SpringRunner;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class OverdueScanRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OverdueScanRepository overdueScanRepository;
+
+    @Test
+    public void findUnfinishedAndLastFinishedScan() {
+        Assert.assertFalse(overdueScanRepository.findFirstByFinishedAtIsNullOrderByIdDesc().isPresent());
+        Assert.assertFalse(overdueScanRepository.findFirstByFinishedAtIsNotNullOrderByIdDesc().isPresent());
+
+        OverdueScan older = new OverdueScan(LocalDateTime.of(2020, 3, 1, 2, 0));
+        older.setFinishedAt(LocalDateTime.of(2020, 3, 1, 2, 5));
+        OverdueScan finished = new OverdueScan(LocalDateTime.of(2020, 3, 2, 2, 0));
+        finished.setFinishedAt(LocalDateTime.of(2020, 3, 2, 2, 5));
+        finished.getLongestOverdue().addAll(Arrays.asList(new OverdueLoan(3, 1, 2, 40), new OverdueLoan(1, 1, 2, 9)));
+        OverdueScan unfinished = new OverdueScan(LocalDateTime.of(2020, 3, 3, 2, 0));
+        unfinished.setLastLoanId(1000);
+        entityManager.persist(older);
+        entityManager.persist(finished);
+        entityManager.persist(unfinished);
+        entityManager.flush();
+        entityManager.clear();
+
+        Assert.assertEquals(unfinished.getId(), overdueScanRepository.findFirstByFinishedAtIsNullOrderByIdDesc().get().getId());
+        OverdueScan last = overdueScanRepository.findFirstByFinishedAtIsNotNullOrderByIdDesc().get();
+        Assert.assertEquals(finished.getId(), last.getId());
+        Assert.assertEquals(Arrays.asList(new OverdueLoan(3, 1, 2, 40), new OverdueLoan(1, 1, 2, 9)), last.getLongestOverdue());
+    }
+}
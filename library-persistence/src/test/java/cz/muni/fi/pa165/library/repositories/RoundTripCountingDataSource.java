@@ -0,0 +1,76 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test configuration wrapping the data source so that every statement execution
+ * sent to the database (execute, executeQuery, executeUpdate, executeBatch) is counted.
+ * A JDBC batch counts as a single execution.
+ *
+ * @since 18.10.2026
+ */
+@TestConfiguration
+public class RoundTripCountingDataSource {
+
+    private static final AtomicLong EXECUTIONS = new AtomicLong();
+
+    /**
+     * @return number of statement executions since the last reset
+     */
+    public static long executions() {
+        return EXECUTIONS.get();
+    }
+
+    public static void reset() {
+        EXECUTIONS.set(0);
+    }
+
+    @Bean
+    public static BeanPostProcessor roundTripCountingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    return proxy(DataSource.class, bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, Object target) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(method, target, args);
+            if (result instanceof Connection) {
+                return proxy(Connection.class, result);
+            }
+            if (result instanceof Statement && method.getReturnType().isInterface()) {
+                return proxy(method.getReturnType(), result);
+            }
+            if (target instanceof Statement && method.getName().startsWith("execute")) {
+                EXECUTIONS.incrementAndGet();
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(RoundTripCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import cz.muni.fi.pa165.library.config.SecondLevelCacheConfiguration;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+/**
+ * Repeated reads of books and users in separate transactions are served by the second-level cache,
+ * as when /rest/book_id/{id} or the loan listings of one user or book are requested again.
+ *
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {"library.cache.statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"})
+@Import(RoundTripCountingDataSource.class)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SingleLoanRepository singleLoanRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Book book;
+
+    private User user;
+
+    @Before
+    public void setUp() {
+        book = bookRepository.save(new Book("Animal farm", "George Orwell"));
+        user = new User("Peter", "Griffin", "mail@mail.com", false);
+        user.setPasswordHash("password");
+        userRepository.save(user);
+        for (int i = 0; i < 5; i++) {
+            Book other = bookRepository.save(new Book("Book " + i, "Author " + i));
+            singleLoanRepository.save(new SingleLoan(other, user, LocalDateTime.of(2020, 1, 1, 12, i)));
+            SingleLoan returned = new SingleLoan(book, userRepository.save(newUser(i)), LocalDateTime.of(2020, 1, 2, 12, i));
+            returned.setReturnedAt(LocalDateTime.of(2020, 1, 2, 13, i));
+            singleLoanRepository.save(returned);
+        }
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        RoundTripCountingDataSource.reset();
+    }
+
+    @After
+    public void tearDown() {
+        singleLoanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void repeatedFindByIdHitsCache() {
+        bookRepository.findById(book.getId());
+        long executions = RoundTripCountingDataSource.executions();
+
+        Assert.assertEquals(book, bookRepository.findById(book.getId()).get());
+        Assert.assertEquals(book, bookRepository.findById(book.getId()).get());
+
+        Assert.assertEquals(1, executions);
+        Assert.assertEquals(executions, RoundTripCountingDataSource.executions());
+        Assert.assertEquals(2, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfiguration.BOOK_REGION).getHitCount());
+    }
+
+    @Test
+    public void loansOfUserTakeUserFromCache() {
+        Assert.assertEquals(5, singleLoanRepository.findByUserId(user.getId(), PageRequest.of(0, 20)).size());
+        // the loans and their books, then the user
+        Assert.assertEquals(2, RoundTripCountingDataSource.executions());
+        RoundTripCountingDataSource.reset();
+
+        Assert.assertEquals(5, singleLoanRepository.findByUserId(user.getId(), PageRequest.of(0, 20)).size());
+
+        Assert.assertEquals(1, RoundTripCountingDataSource.executions());
+        Assert.assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfiguration.USER_REGION).getHitCount());
+    }
+
+    @Test
+    public void loansOfBookTakeBookFromCache() {
+        Assert.assertEquals(5, singleLoanRepository.findByBookId(book.getId(), PageRequest.of(0, 20)).size());
+        Assert.assertEquals(2, RoundTripCountingDataSource.executions());
+        RoundTripCountingDataSource.reset();
+
+        Assert.assertEquals(5, singleLoanRepository.findByBookId(book.getId(), PageRequest.of(0, 20)).size());
+
+        Assert.assertEquals(1, RoundTripCountingDataSource.executions());
+        Assert.assertEquals(1, statistics.getDomainDataRegionStatistics(SecondLevelCacheConfiguration.BOOK_REGION).getHitCount());
+    }
+
+    @Test
+    public void findByEmailHitsQueryCacheUntilUsersChange() {
+        userRepository.findByEmail("mail@mail.com");
+        RoundTripCountingDataSource.reset();
+
+        Assert.assertEquals(user, userRepository.findByEmail("mail@mail.com").get());
+        Assert.assertEquals(0, RoundTripCountingDataSource.executions());
+        Assert.assertEquals(1, statistics.getQueryCacheHitCount());
+
+        userRepository.save(newUser(42));
+        RoundTripCountingDataSource.reset();
+
+        Assert.assertEquals(user, userRepository.findByEmail("mail@mail.com").get());
+        Assert.assertEquals(1, RoundTripCountingDataSource.executions());
+    }
+
+    private static User newUser(int i) {
+        User user = new User("Reader", "Number " + i, "reader" + i + "@mail.com", false);
+        user.setPasswordHash("password");
+        return user;
+    }
+}
@@ -0,0 +1,68 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the JDBC round trips needed to insert many loans.
+ *
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=" + SingleLoanBatchInsertTest.BATCH_SIZE,
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.library.id.allocation_size=" + SingleLoanBatchInsertTest.ALLOCATION_SIZE
+})
+@Import(RoundTripCountingDataSource.class)
+public class SingleLoanBatchInsertTest {
+
+    static final int BATCH_SIZE = 50;
+
+    static final int ALLOCATION_SIZE = 100;
+
+    private static final int LOANS = 1000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SingleLoanRepository singleLoanRepository;
+
+    @Test
+    public void insertOfThousandLoansIsBatched() {
+        Book book = entityManager.persist(new Book("Animal farm", "George Orwell"));
+        User user = new User("Peter", "Griffin", "mail@mail.com", false);
+        user.setPasswordHash("password");
+        entityManager.persist(user);
+        entityManager.flush();
+
+        RoundTripCountingDataSource.reset();
+
+        List<SingleLoan> loans = new ArrayList<>(LOANS);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 12, 0);
+        for (int i = 0; i < LOANS; i++) {
+            SingleLoan loan = new SingleLoan(book, user, start.plusMinutes(i));
+            loan.setReturnedAt(start.plusMinutes(i + 1));
+            loans.add(loan);
+        }
+        singleLoanRepository.saveAll(loans);
+        entityManager.flush();
+
+        // one sequence call per allocated block of ids, one execution per JDBC batch of inserts
+        Assert.assertEquals(LOANS / ALLOCATION_SIZE + LOANS / BATCH_SIZE, RoundTripCountingDataSource.executions());
+        Assert.assertEquals(LOANS, singleLoanRepository.count());
+    }
+}
@@ -10,10 +10,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit4.SpringRunner;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * @author Petr Janik 485122 && Katarina Hermanova 433511
@@ -79,6 +84,131 @@ public class SingleLoanRepositoryTest {
         Assert.assertEquals(Arrays.asList(), singleLoanRepository.findAll());
     }
 
+    @Test
+    public void findByUserIdAndBookId() {
+        Book animalFarm = new Book("Animal farm", "George Orwell");
+        Book book1984 = new Book("1984", "George Orwell");
+        entityManager.persist(animalFarm);
+        entityManager.persist(book1984);
+
+        User peter = new User("Peter", "Griffin", "mail@mail.com", false);
+        peter.setPasswordHash("password");
+        entityManager.persist(peter);
+
+        User lois = new User("Lois", "Griffin", "lois@mail.com", false);
+        lois.setPasswordHash("password");
+        entityManager.persist(lois);
+
+        SingleLoan first = new SingleLoan(animalFarm, peter, LocalDateTime.of(2020, 1, 1, 12, 0));
+        first.setReturnedAt(LocalDateTime.of(2020, 1, 2, 12, 0));
+        entityManager.persist(first);
+        SingleLoan second = entityManager.persist(new SingleLoan(book1984, peter, LocalDateTime.of(2020, 1, 2, 12, 0)));
+        SingleLoan third = entityManager.persist(new SingleLoan(animalFarm, lois, LocalDateTime.of(2020, 1, 3, 12, 0)));
+        entityManager.flush();
+        entityManager.clear();
+
+        PageRequest firstPage = PageRequest.of(0, 10, Sort.by("id"));
+        Assert.assertEquals(Arrays.asList(first, second), singleLoanRepository.findByUserId(peter.getId(), firstPage));
+        Assert.assertEquals(Arrays.asList(third), singleLoanRepository.findByUserId(lois.getId(), firstPage));
+        Assert.assertEquals(Arrays.asList(first, third), singleLoanRepository.findByBookId(animalFarm.getId(), firstPage));
+        Assert.assertEquals(Arrays.asList(second),
+                singleLoanRepository.findByUserId(peter.getId(), PageRequest.of(1, 1, Sort.by("id"))));
+    }
+
+    @Test
+    public void streamAll() {
+        Book animalFarm = new Book("Animal farm", "George Orwell");
+        entityManager.persist(animalFarm);
+
+        User user = new User("Peter", "Griffin", "mail@mail.com", false);
+        user.setPasswordHash("password");
+        entityManager.persist(user);
+
+        SingleLoan first = entityManager.persist(new SingleLoan(animalFarm, user, LocalDateTime.of(2020, 1, 2, 12, 0)));
+        SingleLoan second = new SingleLoan(animalFarm, user, LocalDateTime.of(2020, 1, 1, 12, 0));
+        second.setReturnedAt(LocalDateTime.of(2020, 1, 1, 18, 0));
+        entityManager.persist(second);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<SingleLoan> loans = singleLoanRepository.streamAll()) {
+            Assert.assertEquals(Arrays.asList(first, second), loans.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void countOpenLoansOfBook() {
+        Book animalFarm = new Book("Animal farm", "George Orwell");
+        entityManager.persist(animalFarm);
+
+        User peter = new User("Peter", "Griffin", "mail@mail.com", false);
+        peter.setPasswordHash("password");
+        entityManager.persist(peter);
+
+        SingleLoan returned = new SingleLoan(animalFarm, peter, LocalDateTime.of(2020, 1, 1, 12, 0));
+        returned.setReturnedAt(LocalDateTime.of(2020, 1, 2, 12, 0));
+        entityManager.persist(returned);
+        entityManager.persist(new SingleLoan(animalFarm, peter, LocalDateTime.of(2020, 1, 3, 12, 0)));
+        entityManager.persist(new SingleLoan(animalFarm, peter, LocalDateTime.of(2020, 1, 4, 12, 0)));
+        entityManager.flush();
+
+        Assert.assertEquals(2, singleLoanRepository.countByBookIdAndReturnedAtIsNull(animalFarm.getId()));
+        Assert.assertEquals(0, singleLoanRepository.countByBookIdAndReturnedAtIsNull(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void findOpenLoans() {
+        Book animalFarm = new Book("Animal farm", "George Orwell");
+        Book book1984 = new Book("1984", "George Orwell");
+        entityManager.persist(animalFarm);
+        entityManager.persist(book1984);
+
+        User peter = new User("Peter", "Griffin", "mail@mail.com", false);
+        peter.setPasswordHash("password");
+        entityManager.persist(peter);
+
+        User lois = new User("Lois", "Griffin", "lois@mail.com", false);
+        lois.setPasswordHash("password");
+        entityManager.persist(lois);
+
+        SingleLoan returned = new SingleLoan(animalFarm, peter, LocalDateTime.of(2020, 1, 1, 12, 0));
+        returned.setReturnedAt(LocalDateTime.of(2020, 1, 2, 12, 0));
+        entityManager.persist(returned);
+        SingleLoan first = entityManager.persist(new SingleLoan(animalFarm, lois, LocalDateTime.of(2020, 1, 3, 12, 0)));
+        SingleLoan second = entityManager.persist(new SingleLoan(book1984, peter, LocalDateTime.of(2020, 1, 4, 12, 0)));
+        SingleLoan third = entityManager.persist(new SingleLoan(book1984, lois, LocalDateTime.of(2020, 1, 5, 12, 0)));
+        entityManager.flush();
+        entityManager.clear();
+
+        Assert.assertEquals(Arrays.asList(second), singleLoanRepository.findOpenByUserId(peter.getId()));
+        Assert.assertEquals(Arrays.asList(first, third), singleLoanRepository.findOpenByUserId(lois.getId()));
+        Assert.assertEquals(Arrays.asList(first), singleLoanRepository.findOpenByBookId(animalFarm.getId()));
+        Assert.assertEquals(Arrays.asList(second, third), singleLoanRepository.findOpenByBookId(book1984.getId()));
+        Assert.assertEquals(Arrays.asList(first, second), singleLoanRepository.findOpenByIdAfter(0, PageRequest.of(0, 2)));
+        Assert.assertEquals(Arrays.asList(third), singleLoanRepository.findOpenByIdAfter(second.getId(), PageRequest.of(0, 2)));
+
+        List<OpenLoan> rows = singleLoanRepository.findOpenLoanRowsAfter(first.getId(), PageRequest.of(0, 1));
+        Assert.assertEquals(1, rows.size());
+        Assert.assertEquals((long) second.getId(), rows.get(0).getId());
+        Assert.assertEquals(book1984.getId(), rows.get(0).getBookId());
+        Assert.assertEquals(peter.getId(), rows.get(0).getUserId());
+        Assert.assertEquals(second.getRegisteredAt(), rows.get(0).getRegisteredAt());
+    }
+
+    @Test
+    public void openLoansUseIndexes() {
+        Assert.assertTrue(plan("select * from single_loan where book_id = 1 and returned_at is null")
+                .contains("SINGLE_LOAN_BOOK_ID_RETURNED_AT_IDX"));
+        Assert.assertTrue(plan("select * from single_loan where user_id = 1 and returned_at is null")
+                .contains("SINGLE_LOAN_USER_ID_RETURNED_AT_IDX"));
+        Assert.assertTrue(plan("select * from single_loan where returned_at is null and id > 1 order by id")
+                .contains("SINGLE_LOAN_RETURNED_AT_ID_IDX"));
+    }
+
+    private String plan(String query) {
+        return entityManager.getEntityManager().createNativeQuery("explain " + query).getSingleResult().toString().toUpperCase();
+    }
+
     @Test(expected = DataAccessException.class)
     public void saveNull(){
         singleLoanRepository.save(null);
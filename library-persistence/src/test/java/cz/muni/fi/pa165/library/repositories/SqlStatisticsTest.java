@@ -0,0 +1,99 @@
+package cz.muni.fi.pa165.library.repositories;
+
+import cz.muni.fi.pa165.library.config.SqlStatistics;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import org.hibernate.SessionFactory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statements, JDBC time and entity loads are accounted to the thread which began accounting.
+ *
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SqlStatisticsTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SingleLoanRepository singleLoanRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Before
+    public void setUp() {
+        for (int i = 0; i < 3; i++) {
+            Book book = bookRepository.save(new Book("Book " + i, "Author " + i));
+            User user = new User("Peter", "Griffin", i + "@mail.com", false);
+            user.setPasswordHash("password");
+            singleLoanRepository.save(new SingleLoan(book, userRepository.save(user), LocalDateTime.of(2020, 1, 1, 12, i)));
+        }
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @After
+    public void tearDown() {
+        SqlStatistics.end();
+        singleLoanRepository.deleteAll();
+        bookRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void loansWithoutFetchJoinLoadBooksAndUsersOneByOne() {
+        SqlStatistics statistics = SqlStatistics.begin(true);
+
+        Assert.assertEquals(3, singleLoanRepository.findAll().size());
+
+        Assert.assertSame(statistics, SqlStatistics.end());
+        Assert.assertNull(SqlStatistics.current());
+        // the loans, then every book and every user
+        Assert.assertEquals(7, statistics.getStatements());
+        Assert.assertEquals(9, statistics.getEntityLoads());
+        Assert.assertTrue(statistics.getJdbcNanos() > 0);
+        List<Map.Entry<String, Integer>> repeated = statistics.getRepeated(3);
+        Assert.assertEquals(2, repeated.size());
+        Assert.assertEquals(3, (int) repeated.get(0).getValue());
+    }
+
+    @Test
+    public void fetchJoinLoadsLoansInOneStatement() {
+        SqlStatistics statistics = SqlStatistics.begin(true);
+
+        singleLoanRepository.findOpenByIdAfter(0, PageRequest.of(0, 10));
+
+        Assert.assertEquals(1, statistics.getStatements());
+        Assert.assertEquals(9, statistics.getEntityLoads());
+        Assert.assertTrue(statistics.getRepeated(2).isEmpty());
+    }
+
+    @Test
+    public void nothingIsAccountedWithoutBegin() {
+        singleLoanRepository.findAll();
+
+        Assert.assertNull(SqlStatistics.current());
+        SqlStatistics statistics = SqlStatistics.begin(false);
+        Assert.assertEquals(0, statistics.getStatements());
+        Assert.assertTrue(statistics.getRepeated(1).isEmpty());
+    }
+}
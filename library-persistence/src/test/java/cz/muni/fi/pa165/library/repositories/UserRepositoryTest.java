@@ -78,6 +78,37 @@ public class UserRepositoryTest {
         Assert.assertEquals(Arrays.asList(martin), userRepository.findAll());
     }
 
+    @Test
+    public void findByEmail() {
+        User martin = new User("Martin", "Novak", "mail@mail.com", false);
+        martin.setPasswordHash("password");
+        userRepository.save(martin);
+
+        User librarian = new User("Boris", "Chan", "boris@mail.com", true);
+        librarian.setPasswordHash("password");
+        userRepository.save(librarian);
+
+        Assert.assertEquals(Optional.of(librarian), userRepository.findByEmail("boris@mail.com"));
+        Assert.assertEquals(Optional.empty(), userRepository.findByEmail("nobody@mail.com"));
+        Assert.assertTrue(userRepository.existsByEmail("mail@mail.com"));
+        Assert.assertFalse(userRepository.existsByEmail("nobody@mail.com"));
+    }
+
+    @Test
+    public void findByNameAndLibrarian() {
+        User martin = new User("Martin", "Novak", "mail@mail.com", false);
+        martin.setPasswordHash("password");
+        userRepository.save(martin);
+
+        User librarian = new User("Boris", "Novak", "boris@mail.com", true);
+        librarian.setPasswordHash("password");
+        userRepository.save(librarian);
+
+        Assert.assertEquals(Arrays.asList(martin), userRepository.findByFirstName("Martin"));
+        Assert.assertEquals(Arrays.asList(martin, librarian), userRepository.findByLastName("Novak"));
+        Assert.assertEquals(Arrays.asList(librarian), userRepository.findByIsLibrarianTrue());
+    }
+
     @Test(expected = DataAccessException.class)
     public void testAddingUsersWithSameEmail() {
         User martin = new User("Martin", "Novak", "mail@mail.com", false);
@@ -88,6 +119,8 @@ public class UserRepositoryTest {
         boris.setPasswordHash("password");
 
         userRepository.save(boris);
+        // ids come from a sequence, so the insert waits for the flush before the next query
+        userRepository.count();
     }
 
     @Test(expected = DataAccessException.class)
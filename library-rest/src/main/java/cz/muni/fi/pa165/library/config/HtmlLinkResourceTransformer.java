@@ -0,0 +1,44 @@
+package cz.muni.fi.pa165.library.config;
+
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.ResourceTransformerChain;
+import org.springframework.web.servlet.resource.ResourceTransformerSupport;
+import org.springframework.web.servlet.resource.TransformedResource;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites local src and href links of HTML pages to the public URLs of the linked resources,
+ * so that pages link the content hashed names of assets. Links to other hosts are left untouched.
+ *
+ * @since 18.10.2026
+ */
+class HtmlLinkResourceTransformer extends ResourceTransformerSupport {
+
+    private static final Pattern LINK = Pattern.compile("(src|href)=\"([^\":?#]+)\"");
+
+    @Override
+    public Resource transform(HttpServletRequest request, Resource resource, ResourceTransformerChain chain)
+            throws IOException {
+        resource = chain.transform(request, resource);
+        if (!"html".equals(StringUtils.getFilenameExtension(resource.getFilename()))) {
+            return resource;
+        }
+        String content = new String(FileCopyUtils.copyToByteArray(resource.getInputStream()), StandardCharsets.UTF_8);
+        Matcher matcher = LINK.matcher(content);
+        StringBuffer transformed = new StringBuffer(content.length());
+        while (matcher.find()) {
+            // relative links are resolved against the page, the asset handlers are then found by the absolute path
+            String url = resolveUrlPath(toAbsolutePath(matcher.group(2), request), request, resource, chain);
+            String replacement = url == null ? matcher.group() : matcher.group(1) + "=\"" + url + "\"";
+            matcher.appendReplacement(transformed, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(transformed);
+        return new TransformedResource(resource, transformed.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,47 @@
+package cz.muni.fi.pa165.library.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flags requests which execute the same SQL statement many times, typically one select
+ * per book or user of the loaded loans (N+1 selects).
+ *
+ * Active in the dev and test profiles only, counting statements by their text costs
+ * a hash map update per statement. A statement is repeated if it has been executed
+ * library.sql.n-plus-one.threshold times or more within one request.
+ *
+ * @since 18.10.2026
+ */
+@Component
+@Profile({"dev", "test"})
+public class NPlusOneDetector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NPlusOneDetector.class);
+
+    private final int threshold;
+
+    public NPlusOneDetector(@Value("${library.sql.n-plus-one.threshold:5}") int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * logs the repeated statements of the request
+     *
+     * @param request    method and path of the request
+     * @param statistics statistics of the request, counting repeats
+     * @return executions of the most repeated statement, 0 if no statement is repeated
+     */
+    public int inspect(String request, SqlStatistics statistics) {
+        List<Map.Entry<String, Integer>> repeated = statistics.getRepeated(threshold);
+        for (Map.Entry<String, Integer> statement : repeated) {
+            LOGGER.warn("Possible N+1 selects in {}: {} executions of {}", request, statement.getValue(), statement.getKey());
+        }
+        return repeated.isEmpty() ? 0 : repeated.get(0).getValue();
+    }
+}
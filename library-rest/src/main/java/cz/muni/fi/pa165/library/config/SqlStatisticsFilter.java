@@ -0,0 +1,157 @@
+package cz.muni.fi.pa165.library.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Accounts SQL statements, JDBC time and entity loads of every REST request, see {@link SqlStatistics}.
+ *
+ * The counts are sent in the X-SQL-Statements, X-SQL-Time-Millis and X-Entity-Loads headers,
+ * added just before the body is written, so SQL run while writing a streamed body is not included.
+ * Requests taking library.sql.slow-request or longer are logged with their counts.
+ * With the {@link NPlusOneDetector} (dev and test profiles) the statements are also counted by their text
+ * and the executions of the most repeated statement are sent in X-SQL-Repeated.
+ *
+ * Runs before Spring Security, so user lookups of the authentication are included.
+ *
+ * @since 18.10.2026
+ */
+@Component
+@ConditionalOnProperty(name = "library.sql.statistics.enabled", matchIfMissing = true)
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS = "X-SQL-Statements";
+
+    public static final String TIME = "X-SQL-Time-Millis";
+
+    public static final String ENTITY_LOADS = "X-Entity-Loads";
+
+    public static final String REPEATED = "X-SQL-Repeated";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SqlStatisticsFilter.class);
+
+    private final long slowRequestNanos;
+
+    private final NPlusOneDetector detector;
+
+    public SqlStatisticsFilter(@Value("${library.sql.slow-request:1s}") Duration slowRequest,
+                               ObjectProvider<NPlusOneDetector> detector) {
+        this.slowRequestNanos = slowRequest.toNanos();
+        this.detector = detector.getIfAvailable();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getServletPath().startsWith("/rest/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStatistics statistics = SqlStatistics.begin(detector != null);
+        StatisticsResponse wrapped = new StatisticsResponse(response, statistics, request);
+        try {
+            chain.doFilter(request, wrapped);
+        } finally {
+            SqlStatistics.end();
+            wrapped.addHeaders();
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= slowRequestNanos) {
+                LOGGER.warn("Slow request {} took {} ms: {} SQL statements, {} ms in JDBC, {} entities loaded.",
+                        describe(request), elapsed / 1_000_000, statistics.getStatements(),
+                        millis(statistics.getJdbcNanos()), statistics.getEntityLoads());
+            }
+        }
+    }
+
+    private static String describe(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getRequestURI();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    /**
+     * Adds the statistics headers once, before the response is committed.
+     */
+    private final class StatisticsResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+
+        private final HttpServletRequest request;
+
+        private boolean added;
+
+        StatisticsResponse(HttpServletResponse response, SqlStatistics statistics, HttpServletRequest request) {
+            super(response);
+            this.statistics = statistics;
+            this.request = request;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addHeaders();
+            super.sendError(sc);
+        }
+
+        void addHeaders() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            setHeader(STATEMENTS, Long.toString(statistics.getStatements()));
+            setHeader(TIME, millis(statistics.getJdbcNanos()));
+            setHeader(ENTITY_LOADS, Long.toString(statistics.getEntityLoads()));
+            if (detector != null) {
+                int repeated = detector.inspect(describe(request), statistics);
+                if (repeated > 0) {
+                    setHeader(REPEATED, Integer.toString(repeated));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package cz.muni.fi.pa165.library.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+/**
+ * Serves the UI under static/.
+ *
+ * Assets (scripts, styles, fonts, images) are requested by content hashed names,
+ * e.g. css/style-5d41402abc4b2a76b9719d911017c592.css, so they are cached by browsers for a year
+ * without revalidation. Links in CSS and HTML are rewritten to the hashed names,
+ * and gzip variants created at build time are sent to clients accepting them.
+ * HTML pages keep their names and are revalidated on every use.
+ *
+ * @since 18.10.2026
+ */
+@Configuration
+public class StaticResourceConfiguration implements WebMvcConfigurer {
+
+    /**
+     * assets are public, they are served outside the security filter chain
+     */
+    public static final String[] ASSET_PATTERNS = {
+            "/*.js", "/css/**", "/fonts/**", "/images/**", "/angularjs-datetime-picker/**"
+    };
+
+    /**
+     * CacheControl of this Spring version has no immutable directive
+     */
+    private static final CacheControl IMMUTABLE = new CacheControl() {
+        @Override
+        public String getHeaderValue() {
+            return "max-age=31536000, public, immutable";
+        }
+    };
+
+    private static final String LOCATION = "classpath:/static/";
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String pattern : ASSET_PATTERNS) {
+            String directory = pattern.endsWith("/**") ? pattern.substring(1, pattern.length() - 2) : "";
+            registry.addResourceHandler(pattern)
+                    .addResourceLocations(LOCATION + directory)
+                    .setCacheControl(IMMUTABLE)
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+        registry.addResourceHandler("/*.html")
+                .addResourceLocations(LOCATION)
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addTransformer(new HtmlLinkResourceTransformer());
+    }
+}
@@ -1,6 +1,15 @@
 package cz.muni.fi.pa165.library.controllers;
 
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.WebRequest;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 /**
  * @author Petr Janik 485122
@@ -10,4 +19,45 @@ import org.springframework.web.bind.annotation.RequestMapping;
  */
 @RequestMapping("/rest")
 public abstract class AbstractController {
+
+    /** Number of items returned by paginated endpoints unless the client asks otherwise */
+    protected static final String DEFAULT_PAGE_SIZE = "20";
+
+    /** Clients may keep the response, but have to revalidate it by its ETag before every use */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * Answers 304 Not Modified if the client already has the representation tagged by etag,
+     * the body is computed only otherwise.
+     *
+     * @param request current request, its If-None-Match header is checked
+     * @param etag    tag of the current representation, see AggregateVersions
+     * @param body    computes the representation
+     * @return response with the body, null if 304 has been already sent
+     */
+    protected static <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
+
+    /**
+     * Invalid arguments of a request, e.g. a malformed cursor or a page size out of range, are answered 400,
+     * other IllegalArgumentExceptions are server errors.
+     */
+    @ExceptionHandler(InvalidArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public String invalidArgument(InvalidArgumentException e) {
+        return e.getMessage();
+    }
+
+    /**
+     * Requests for books, loans and other resources which do not exist are answered 404.
+     */
+    @ExceptionHandler(NoSuchElementException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public String notFound(NoSuchElementException e) {
+        return e.getMessage();
+    }
 }
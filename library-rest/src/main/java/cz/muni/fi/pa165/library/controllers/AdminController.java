@@ -0,0 +1,140 @@
+package cz.muni.fi.pa165.library.controllers;
+
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import cz.muni.fi.pa165.library.exceptions.RecordingStateException;
+import cz.muni.fi.pa165.library.security.UserDetailsCache;
+import cz.muni.fi.pa165.library.services.FlightRecordingService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Operational endpoints for librarians.
+ *
+ * @since 18.10.2026
+ */
+@RestController
+public class AdminController extends AbstractController {
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+
+    @GetMapping(value = "/admin/caches/user-details")
+    public Map<String, Long> userDetailsCacheStatistics() {
+        return userDetailsCache.getStatistics();
+    }
+
+    /**
+     * @return hits, misses and puts of every second-level cache region and of the query cache since start,
+     *         empty unless library.cache.statistics=true
+     */
+    @GetMapping(value = "/admin/caches/second-level")
+    public Map<String, Map<String, Long>> secondLevelCacheStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Map<String, Long>> regions = new LinkedHashMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regions;
+        }
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            counts.put("hits", regionStatistics.getHitCount());
+            counts.put("misses", regionStatistics.getMissCount());
+            counts.put("puts", regionStatistics.getPutCount());
+            regions.put(region, counts);
+        }
+        Map<String, Long> queryCache = new LinkedHashMap<>();
+        queryCache.put("hits", statistics.getQueryCacheHitCount());
+        queryCache.put("misses", statistics.getQueryCacheMissCount());
+        queryCache.put("puts", statistics.getQueryCachePutCount());
+        regions.put("query-cache", queryCache);
+        return regions;
+    }
+
+    /*
+     * Flight recordings of this node, see FlightRecordingService.
+     * Open the downloaded file in JDK Mission Control, library events are in the Library category.
+     */
+
+    @GetMapping(value = "/admin/jfr")
+    public Map<String, Object> flightRecordingStatus() {
+        return flightRecordingService.getStatus();
+    }
+
+    /**
+     * @param duration how long to record, e.g. 30s or 5m, at most library.jfr.max-duration
+     */
+    @PostMapping(value = "/admin/jfr/start")
+    public Map<String, Object> startFlightRecording(@RequestParam(defaultValue = "1m") String duration) {
+        Duration parsed;
+        try {
+            parsed = DurationStyle.detectAndParse(duration);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidArgumentException("Duration " + duration + " is invalid.", e);
+        }
+        return flightRecordingService.start(parsed);
+    }
+
+    @PostMapping(value = "/admin/jfr/stop")
+    public Map<String, Object> stopFlightRecording() {
+        return flightRecordingService.stop();
+    }
+
+    /**
+     * Downloads the data recorded so far, the recording need not be stopped.
+     */
+    @GetMapping(value = "/admin/jfr/recording")
+    public ResponseEntity<StreamingResponseBody> downloadFlightRecording() throws IOException {
+        Path file = flightRecordingService.dump();
+        String name = "library-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".jfr";
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "\"")
+                .body(body);
+    }
+
+    @ExceptionHandler(RecordingStateException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String recordingConflict(RecordingStateException e) {
+        return e.getMessage();
+    }
+}
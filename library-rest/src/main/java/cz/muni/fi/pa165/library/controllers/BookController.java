@@ -1,11 +1,21 @@
 package cz.muni.fi.pa165.library.controllers;
 
 import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.ImportSummaryDTO;
+import cz.muni.fi.pa165.library.dto.InventoryDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
+import cz.muni.fi.pa165.library.exceptions.CopiesLentException;
 import cz.muni.fi.pa165.library.facade.BookFacade;
+import cz.muni.fi.pa165.library.services.AggregateVersions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -16,22 +26,50 @@ public class BookController extends AbstractController {
     @Autowired
     private BookFacade bookFacade;
 
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
     @PostMapping(value = "/books")
     public long createBook(@RequestBody BookDTO book) {
         LOGGER.info("Creating book {}.", book);
         return bookFacade.createBook(book);
     }
 
+    /**
+     * Imports a JSON array of books, the body is parsed while it is being received.
+     */
+    @PostMapping(value = "/books/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ImportSummaryDTO importBooksJson(InputStream body) {
+        LOGGER.info("Importing books from JSON.");
+        return bookFacade.importBooks(body, "json");
+    }
+
+    /**
+     * Imports a CSV of books with title and author columns, the body is parsed while it is being received.
+     */
+    @PostMapping(value = "/books/import", consumes = "text/csv")
+    public ImportSummaryDTO importBooksCsv(InputStream body) {
+        LOGGER.info("Importing books from CSV.");
+        return bookFacade.importBooks(body, "csv");
+    }
+
     @DeleteMapping(value = "/delete/book/{id}")
     public long deleteBook(@PathVariable long id) {
         LOGGER.info("Deleting book with id {}.", id);
         return bookFacade.deleteBook(id);
     }
 
+    /**
+     * Answers 304 without touching the database if no book has changed since the client's ETag.
+     */
     @GetMapping(value = "/books")
-    public List<BookDTO> findAllBooks() {
-        LOGGER.info("Finding all books.");
-        return bookFacade.findAllBooks();
+    public ResponseEntity<PageDTO<BookDTO>> findBooksPage(@RequestParam(defaultValue = "id") String sort,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                          WebRequest request) {
+        LOGGER.info("Finding {} books sorted by {}.", size, sort);
+        return conditional(request, aggregateVersions.etag(AggregateVersions.Aggregate.BOOKS),
+                () -> bookFacade.findBooksPage(sort, cursor, size));
     }
 
     @GetMapping(value = "/books_title/{title}")
@@ -50,4 +88,21 @@ public class BookController extends AbstractController {
     public BookDTO findById(@PathVariable long id) {
         return bookFacade.findById(id);
     }
+
+    @GetMapping(value = "/books/{id}/inventory")
+    public InventoryDTO getInventory(@PathVariable long id) {
+        return bookFacade.getInventory(id);
+    }
+
+    @PutMapping(value = "/books/{id}/copies")
+    public InventoryDTO setCopies(@PathVariable long id, @RequestParam int copies) {
+        LOGGER.info("Setting {} copies of book with id {}.", copies, id);
+        return bookFacade.setCopies(id, copies);
+    }
+
+    @ExceptionHandler(CopiesLentException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String copiesLent(CopiesLentException e) {
+        return e.getMessage();
+    }
 }
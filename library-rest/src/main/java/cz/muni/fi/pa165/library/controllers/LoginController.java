@@ -0,0 +1,50 @@
+package cz.muni.fi.pa165.library.controllers;
+
+import cz.muni.fi.pa165.library.dto.LoginDTO;
+import cz.muni.fi.pa165.library.dto.TokenDTO;
+import cz.muni.fi.pa165.library.security.TokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exchanges email and password for a short-lived access token,
+ * the password is checked only here and not on every request.
+ *
+ * @since 18.10.2026
+ */
+@RestController
+public class LoginController extends AbstractController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoginController.class);
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @PostMapping(value = "/login")
+    public TokenDTO login(@RequestBody LoginDTO login) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(login.getEmail(), login.getPassword()));
+        LOGGER.info("Issuing token for {}.", authentication.getName());
+        return tokenService.issue(authentication);
+    }
+
+    @ExceptionHandler(AuthenticationException.class)
+    @ResponseStatus(HttpStatus.UNAUTHORIZED)
+    public String loginFailed() {
+        return "Wrong email or password.";
+    }
+}
@@ -1,17 +1,37 @@
 package cz.muni.fi.pa165.library.controllers;
 
-import cz.muni.fi.pa165.library.dto.BookDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import cz.muni.fi.pa165.library.dto.OverdueReportDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
-import cz.muni.fi.pa165.library.dto.UserDTO;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import cz.muni.fi.pa165.library.exceptions.NoCopyAvailableException;
+import cz.muni.fi.pa165.library.exceptions.ScanRunningException;
 import cz.muni.fi.pa165.library.facade.LoanFacade;
+import cz.muni.fi.pa165.library.services.AggregateVersions;
+import cz.muni.fi.pa165.library.services.AggregateVersions.Aggregate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -22,33 +42,140 @@ import java.util.List;
 @RestController
 public class SingleLoanController extends AbstractController {
 
+    private static final MediaType APPLICATION_NDJSON = new MediaType("application", "x-ndjson");
+
     @Autowired
     private LoanFacade loanFacade;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
     @PostMapping(value = "/loans")
     public long borrowBook(@RequestBody SingleLoanDTO singleLoanInfo){
         return loanFacade.borrowBook(singleLoanInfo);
     }
 
+    @ExceptionHandler(NoCopyAvailableException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String noCopyAvailable(NoCopyAvailableException e) {
+        return e.getMessage();
+    }
+
     @PutMapping(value = "/loan_update/{id}")
     public void returnBook(@PathVariable long id, @RequestBody SingleLoanDTO returnInfo) {
         returnInfo.setId(id);
         loanFacade.returnBook(returnInfo);
     }
 
-    @GetMapping(value = "/loansByUser/{userDto}")
-    public List<SingleLoanDTO> getLoansForUser(@PathVariable UserDTO userDto) {
-        return loanFacade.getLoansForUser(userDto);
+    /*
+     * Loan listings embed books and users, their ETags change with any of the three aggregates.
+     * Requests with a current ETag are answered 304 without touching the database.
+     */
+
+    @GetMapping(value = "/users/{id}/loans")
+    public ResponseEntity<List<SingleLoanDTO>> getLoansForUser(@PathVariable long id,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                               WebRequest request) {
+        return conditional(request, loansEtag(), () -> loanFacade.getLoansForUser(id, page, size));
     }
 
-    @GetMapping(value = "/loansByBook/{bookDto}")
-    public List<SingleLoanDTO> getLoansForBook(@PathVariable BookDTO bookDto) {
-        return loanFacade.getLoansForBook(bookDto);
+    @GetMapping(value = "/books/{id}/loans")
+    public ResponseEntity<List<SingleLoanDTO>> getLoansForBook(@PathVariable long id,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                               WebRequest request) {
+        return conditional(request, loansEtag(), () -> loanFacade.getLoansForBook(id, page, size));
     }
 
     @GetMapping(value = "/loans")
-    public List<SingleLoanDTO> getAllSingleLoans() {
-        return loanFacade.getAllSingleLoans();
+    public ResponseEntity<PageDTO<SingleLoanDTO>> getSingleLoansPage(@RequestParam(defaultValue = "id") String sort,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                                     WebRequest request) {
+        return conditional(request, loansEtag(), () -> loanFacade.getSingleLoansPage(sort, cursor, size));
+    }
+
+    @GetMapping(value = "/users/{id}/loans/open")
+    public ResponseEntity<List<SingleLoanDTO>> getOpenLoansForUser(@PathVariable long id, WebRequest request) {
+        return conditional(request, loansEtag(), () -> loanFacade.getOpenLoansForUser(id));
+    }
+
+    @GetMapping(value = "/books/{id}/loans/open")
+    public ResponseEntity<List<SingleLoanDTO>> getOpenLoansForBook(@PathVariable long id, WebRequest request) {
+        return conditional(request, loansEtag(), () -> loanFacade.getOpenLoansForBook(id));
+    }
+
+    @GetMapping(value = "/loans/open")
+    public ResponseEntity<PageDTO<SingleLoanDTO>> getOpenSingleLoansPage(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                                         WebRequest request) {
+        return conditional(request, loansEtag(), () -> loanFacade.getOpenSingleLoansPage(cursor, size));
+    }
+
+    /**
+     * Report of the latest nightly scan for overdue loans, empty before the first scan has finished.
+     */
+    @GetMapping(value = "/loans/overdue")
+    public OverdueReportDTO getOverdueReport() {
+        return loanFacade.getOverdueReport();
+    }
+
+    /**
+     * Scans open loans for overdue ones now, 409 if a scan is running already.
+     */
+    @PostMapping(value = "/loans/overdue/scan")
+    public OverdueReportDTO scanOverdueLoans() {
+        return loanFacade.scanOverdueLoans();
+    }
+
+    @ExceptionHandler(ScanRunningException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public String scanRunning(ScanRunningException e) {
+        return e.getMessage();
+    }
+
+    /**
+     * Streams all loans as they are read from the database,
+     * either one JSON object per line (format=ndjson) or as one JSON array (format=array).
+     */
+    @GetMapping(value = "/loans/export")
+    public ResponseEntity<StreamingResponseBody> exportSingleLoans(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean array = "array".equals(format);
+        if (!array && !"ndjson".equals(format)) {
+            throw new InvalidArgumentException("Unknown export format " + format + ".");
+        }
+        ObjectWriter writer = objectMapper.writerFor(SingleLoanDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                if (array) {
+                    generator.writeStartArray();
+                } else {
+                    generator.setRootValueSeparator(new SerializedString("\n"));
+                }
+                loanFacade.exportSingleLoans(loan -> {
+                    try {
+                        writer.writeValue(generator, loan);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (array) {
+                    generator.writeEndArray();
+                } else {
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(array ? MediaType.APPLICATION_JSON : APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping(value = "/loan_id/{id}")
@@ -65,4 +192,8 @@ public class SingleLoanController extends AbstractController {
     public void deleteById(@PathVariable long id) {
         loanFacade.deleteById(id);
     }
+
+    private String loansEtag() {
+        return aggregateVersions.etag(Aggregate.LOANS, Aggregate.BOOKS, Aggregate.USERS);
+    }
 }
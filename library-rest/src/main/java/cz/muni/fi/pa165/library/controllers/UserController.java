@@ -1,10 +1,17 @@
 package cz.muni.fi.pa165.library.controllers;
 
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.dto.UserDTO;
 import cz.muni.fi.pa165.library.facade.UserFacade;
+import cz.muni.fi.pa165.library.services.AggregateVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Katarína Hermanová
@@ -17,6 +24,9 @@ public class UserController extends AbstractController {
     @Autowired
     private UserFacade userFacade;
 
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
     @GetMapping(value = "/user_id/{id}")
     public UserDTO findById(@PathVariable long id) {
         return userFacade.findById(id);
@@ -37,9 +47,16 @@ public class UserController extends AbstractController {
         return userFacade.findByEmail(email);
     }
 
+    /**
+     * Answers 304 without touching the database if no user has changed since the client's ETag.
+     */
     @GetMapping(value = "/users")
-    public List<UserDTO> findAll() {
-        return userFacade.findAll();
+    public ResponseEntity<PageDTO<UserDTO>> findPage(@RequestParam(defaultValue = "id") String sort,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                                                     WebRequest request) {
+        return conditional(request, aggregateVersions.etag(AggregateVersions.Aggregate.USERS),
+                () -> userFacade.findPage(sort, cursor, size));
     }
 
     @GetMapping(value = "/librarians")
@@ -47,9 +64,23 @@ public class UserController extends AbstractController {
         return userFacade.findAllLibrarians();
     }
 
+    /**
+     * The password is hashed on the hashing pool, the request thread is released meanwhile.
+     */
     @PostMapping(value = "/users")
-    public long addUser(@RequestBody UserDTO user) {
-        return userFacade.addUser(user,user.getPasswordHash());
+    public CompletableFuture<Long> addUser(@RequestBody UserDTO user) {
+        return userFacade.addUserAsync(user, user.getPasswordHash());
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public String hashingSaturated() {
+        return "Too many registrations at once, try again later.";
+    }
+
+    @PutMapping("/users/{id}/librarian")
+    public void setLibrarian(@PathVariable long id, @RequestParam boolean librarian) {
+        userFacade.setLibrarian(id, librarian);
     }
 
     @DeleteMapping("/delete/user/{id}")
@@ -1,5 +1,7 @@
 package cz.muni.fi.pa165.library.sampleData;
 
+import cz.muni.fi.pa165.library.services.DatasetGenerator;
+import cz.muni.fi.pa165.library.services.DatasetSpec;
 import cz.muni.fi.pa165.library.services.MappingService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.ComponentScan;
@@ -12,7 +14,7 @@ import javax.annotation.PostConstruct;
  * UČO 433511
  * Github katHermanova
  *
- * Loads initial data to DB
+ * Loads initial data to DB: the sample accounts and the dataset of the library.dataset.* properties
  */
 @Configuration
 @Import(MappingService.class)
@@ -22,8 +24,15 @@ public class SampleDataLoader {
     @Autowired
     SampleData sampleData;
 
+    @Autowired
+    DatasetGenerator datasetGenerator;
+
     @PostConstruct
     public void dataLoading() {
         sampleData.loadData();
+        DatasetSpec spec = datasetGenerator.getConfiguredSpec();
+        if (spec.getBooks() + spec.getUsers() + spec.getLoans() > 0) {
+            datasetGenerator.generate(spec);
+        }
     }
 }
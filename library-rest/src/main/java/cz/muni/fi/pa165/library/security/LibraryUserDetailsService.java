@@ -9,29 +9,45 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Katarína Hermanová
  * UČO 433511
  * Github katHermanova
  *
- * custom implementation of loading user-specific data during authentication
+ * custom implementation of loading user-specific data during authentication,
+ * loaded users are kept in {@link UserDetailsCache}
  */
 public class LibraryUserDetailsService implements UserDetailsService {
 
+    private static final List<SimpleGrantedAuthority> LIBRARIAN_AUTHORITIES = Collections.unmodifiableList(
+            Arrays.asList(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
+
+    private static final List<SimpleGrantedAuthority> USER_AUTHORITIES = Collections.singletonList(
+            new SimpleGrantedAuthority("ROLE_USER"));
+
     @Autowired
     private UserFacade userFacade;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String s) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.getUserFromCache(s);
+        if (cached != null) {
+            return cached;
+        }
         UserDTO user = userFacade.findByEmail(s);
         if (user == null) {
             throw new UsernameNotFoundException("User not found");
         }
-        if (user.isLibrarian()) {
-            return new User(user.getEmail(), user.getPasswordHash(), Arrays.asList(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER")));
-        }
-        return new User(user.getEmail(), user.getPasswordHash(), Arrays.asList(new SimpleGrantedAuthority("ROLE_USER")));
+        UserDetails details = new User(user.getEmail(), user.getPasswordHash(),
+                user.isLibrarian() ? LIBRARIAN_AUTHORITIES : USER_AUTHORITIES);
+        userDetailsCache.putUserInCache(details);
+        return new User(details.getUsername(), details.getPassword(), details.getAuthorities());
     }
 
 }
@@ -0,0 +1,194 @@
+package cz.muni.fi.pa165.library.security;
+
+import cz.muni.fi.pa165.library.dto.TokenDTO;
+import cz.muni.fi.pa165.library.services.UserDeletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.Transient;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Issues and verifies short-lived signed access tokens.
+ *
+ * A token is "payload.signature", both Base64 URL encoded. The payload holds the email,
+ * the roles and the issue and expiry instants of the user, the signature is HMAC-SHA256 of the payload.
+ * Verifying a token is a single HMAC computation, no database lookup or BCrypt is involved.
+ * The key is library.token.secret (Base64, at least 32 bytes) or a random key generated on startup,
+ * in that case tokens do not survive a restart.
+ * Tokens of a deleted user are revoked by remembering when the user was deleted
+ * until all tokens issued before that have expired.
+ *
+ * @since 18.10.2026
+ */
+@Component
+public class TokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * email of a deleted user -> epoch millis of the deletion
+     */
+    private final Map<String, Long> revocations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenService(@Value("${library.token.secret:}") String secret,
+                        @Value("${library.token.ttl:15m}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    TokenService(String secret, Duration ttl, Clock clock) {
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            LOGGER.warn("library.token.secret is not set, tokens are signed by a random key valid until restart.");
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret);
+            if (keyBytes.length < 32) {
+                throw new IllegalArgumentException("library.token.secret has to have at least 32 bytes.");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.ttl = ttl;
+        this.clock = clock;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC is not available.", e);
+            }
+        });
+    }
+
+    /**
+     * issues a token for an authenticated user
+     *
+     * @param authentication of the user
+     * @return signed token and the expiry signed into it
+     */
+    public TokenDTO issue(Authentication authentication) {
+        Instant issuedAt = clock.instant();
+        Instant expiresAt = issuedAt.plus(ttl);
+        String roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(","));
+        String payload = authentication.getName() + "\n" + roles + "\n"
+                + issuedAt.toEpochMilli() + "\n" + expiresAt.toEpochMilli();
+        String encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return new TokenDTO(encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload)), expiresAt);
+    }
+
+    /**
+     * verifies the token
+     *
+     * @param token as issued by {@link #issue}
+     * @return authentication of the token's user, null if the token is malformed, forged, expired or revoked
+     */
+    public Authentication verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String encodedPayload = token.substring(0, dot);
+        String[] fields;
+        try {
+            if (!MessageDigest.isEqual(sign(encodedPayload), DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\n", -1);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (fields.length != 4) {
+            return null;
+        }
+        String email = fields[0];
+        long issuedAt = Long.parseLong(fields[2]);
+        long expiresAt = Long.parseLong(fields[3]);
+        if (clock.millis() >= expiresAt) {
+            return null;
+        }
+        Long revokedAt = revocations.get(email);
+        if (revokedAt != null && issuedAt <= revokedAt) {
+            return null;
+        }
+        Collection<GrantedAuthority> authorities = new ArrayList<>();
+        for (String role : fields[1].split(",")) {
+            if (!role.isEmpty()) {
+                authorities.add(new SimpleGrantedAuthority(role));
+            }
+        }
+        return new TokenAuthentication(email, authorities);
+    }
+
+    /**
+     * revokes all tokens issued to the deleted user so far, once the deletion commits
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        long now = clock.millis();
+        revocations.put(event.getEmail(), now);
+        LOGGER.info("Revoked tokens of deleted user {}.", event.getId());
+        List<String> expired = new ArrayList<>();
+        revocations.forEach((email, revokedAt) -> {
+            if (revokedAt + ttl.toMillis() < now) {
+                expired.add(email);
+            }
+        });
+        expired.forEach(revocations::remove);
+    }
+
+    private byte[] sign(String encodedPayload) {
+        return macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * authentication by a token, never stored in the HTTP session
+     */
+    @Transient
+    private static class TokenAuthentication extends UsernamePasswordAuthenticationToken {
+
+        TokenAuthentication(String email, Collection<GrantedAuthority> authorities) {
+            super(email, null, authorities);
+        }
+    }
+}
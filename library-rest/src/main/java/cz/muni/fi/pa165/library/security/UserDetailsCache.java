@@ -0,0 +1,138 @@
+package cz.muni.fi.pa165.library.security;
+
+import cz.muni.fi.pa165.library.services.UserChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, expiring cache of {@link UserDetails} keyed by email.
+ *
+ * The least recently used entry is dropped when the cache is full, every entry is dropped
+ * when its time to live runs out. The entry of a user is evicted once a transaction
+ * adding, deleting or changing the role of the user commits.
+ * Spring Security erases the password of the returned principal after authentication,
+ * so every hit returns a copy of the cached user.
+ *
+ * @since 18.10.2026
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private final int maxSize;
+
+    private final long ttlMillis;
+
+    private final Clock clock;
+
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public UserDetailsCache(@Value("${library.user-cache.max-size:1000}") int maxSize,
+                            @Value("${library.user-cache.ttl:5m}") Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    UserDetailsCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("library.user-cache.max-size has to be positive.");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserDetailsCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(username);
+            if (entry != null && entry.expiresAt <= clock.millis()) {
+                entries.remove(username);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return new User(entry.user.getUsername(), entry.user.getPassword(), entry.user.getAuthorities());
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        Entry entry = new Entry(user, clock.millis() + ttlMillis);
+        synchronized (entries) {
+            entries.put(user.getUsername(), entry);
+        }
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        synchronized (entries) {
+            if (entries.remove(username) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * evicts the changed user, runs after commit so that the user is not cached again from stale data
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        removeUserFromCache(event.getEmail());
+    }
+
+    /**
+     * @return number of cached users, hits, misses and evictions since start
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        synchronized (entries) {
+            statistics.put("size", (long) entries.size());
+        }
+        statistics.put("maxSize", (long) maxSize);
+        statistics.put("hits", hits.sum());
+        statistics.put("misses", misses.sum());
+        statistics.put("evictions", evictions.sum());
+        return statistics;
+    }
+
+    private static final class Entry {
+        private final UserDetails user;
+        private final long expiresAt;
+
+        private Entry(UserDetails user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
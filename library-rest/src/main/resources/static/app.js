@@ -1,5 +1,8 @@
 var app = angular.module('app',[]);
 
+// number of rows requested from paginated list endpoints at once
+var PAGE_SIZE = 50;
+
 app.controller('UserCRUDCtrl', ['$scope','UserCRUDService', function ($scope,UserCRUDService) {
 
     // UPDATES ONLY EMAIL!!!
@@ -68,9 +71,21 @@ app.controller('UserCRUDCtrl', ['$scope','UserCRUDService', function ($scope,Use
     }
 
     $scope.getAllUsers = function () {
-        UserCRUDService.getAllUsers()
+        $scope.users = [];
+        $scope.nextCursor = null;
+        $scope.loadMoreUsers();
+    }
+
+    $scope.sortUsers = function (sort) {
+        $scope.sort = sort;
+        $scope.getAllUsers();
+    }
+
+    $scope.loadMoreUsers = function () {
+        UserCRUDService.getUsersPage($scope.sort, $scope.nextCursor)
             .then(function success(response){
-                    $scope.users = response.data;
+                    $scope.users = $scope.users.concat(response.data.content);
+                    $scope.nextCursor = response.data.nextCursor;
                     $scope.message='';
                     $scope.errorMessage = '';
                 },
@@ -136,9 +151,21 @@ app.controller('BookController',  ['$scope','BookService', function ($scope,Book
     }
 
     $scope.getAllBooks = function () {
-            BookService.getAllBooks()
+            $scope.books = [];
+            $scope.nextCursor = null;
+            $scope.loadMoreBooks();
+    }
+
+    $scope.sortBooks = function (sort) {
+            $scope.sort = sort;
+            $scope.getAllBooks();
+    }
+
+    $scope.loadMoreBooks = function () {
+            BookService.getBooksPage($scope.sort, $scope.nextCursor)
                 .then(function success(response){
-                        $scope.books = response.data;
+                        $scope.books = $scope.books.concat(response.data.content);
+                        $scope.nextCursor = response.data.nextCursor;
                         $scope.message = '';
                         $scope.errorMessage = '';
                     },
@@ -208,10 +235,11 @@ app.service('UserCRUDService',['$http', function ($http) {
         })
     }
 
-    this.getAllUsers = function getAllUsers(){
+    this.getUsersPage = function getUsersPage(sort, cursor){
         return $http({
             method: 'GET',
-            url: 'rest/users'
+            url: 'rest/users',
+            params: {sort:sort, cursor:cursor, size:PAGE_SIZE}
         });
     }
 
@@ -240,10 +268,11 @@ app.service('BookService',['$http', function ($http) {
             })
     }
 
-    this.getAllBooks = function getAllBooks(){
+    this.getBooksPage = function getBooksPage(sort, cursor){
             return $http({
                 method: 'GET',
-                url: 'rest/books'
+                url: 'rest/books',
+                params: {sort:sort, cursor:cursor, size:PAGE_SIZE}
             });
     }
 
@@ -265,9 +294,21 @@ app.service('BookService',['$http', function ($http) {
 app.controller('LoanController',  ['$scope','LoanService', function ($scope,LoanService) {
 
     $scope.getAllLoans = function () {
-        LoanService.getAllLoans()
+        $scope.loans = [];
+        $scope.nextCursor = null;
+        $scope.loadMoreLoans();
+    }
+
+    $scope.sortLoans = function (sort) {
+        $scope.sort = sort;
+        $scope.getAllLoans();
+    }
+
+    $scope.loadMoreLoans = function () {
+        LoanService.getLoansPage($scope.sort, $scope.nextCursor)
             .then(function success(response){
-                    $scope.loans = response.data;
+                    $scope.loans = $scope.loans.concat(response.data.content);
+                    $scope.nextCursor = response.data.nextCursor;
                     $scope.message = '';
                     $scope.errorMessage = '';
                 },
@@ -363,10 +404,11 @@ app.controller('LoanController',  ['$scope','LoanService', function ($scope,Loan
 
 app.service('LoanService',['$http', function ($http) {
 
-    this.getAllLoans = function getAllLoans(){
+    this.getLoansPage = function getLoansPage(sort, cursor){
         return $http({
             method: 'GET',
-            url: 'rest/loans'
+            url: 'rest/loans',
+            params: {sort:sort, cursor:cursor, size:PAGE_SIZE}
         });
     }
 
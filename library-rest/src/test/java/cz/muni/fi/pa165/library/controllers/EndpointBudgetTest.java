@@ -0,0 +1,364 @@
+package cz.muni.fi.pa165.library.controllers;
+
+import cz.muni.fi.pa165.library.config.SqlStatisticsFilter;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.repositories.BookRepository;
+import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
+import cz.muni.fi.pa165.library.repositories.UserRepository;
+import cz.muni.fi.pa165.library.security.TokenService;
+import cz.muni.fi.pa165.library.services.InventoryService;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ErrorCollector;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.util.UriUtils;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Performance contract of the REST endpoints: every endpoint of BookController, UserController
+ * and SingleLoanController is called against a seeded dataset of SEEDED_LOANS loans and may issue
+ * at most a budgeted number of SQL statements and allocate at most a budgeted number of bytes
+ * per request, the build fails when a budget is exceeded.
+ *
+ * Statements are read from the X-SQL-Statements header of SqlStatisticsFilter, allocated bytes
+ * of the request thread from the ThreadMXBean. Each endpoint is called WARMUP times first,
+ * then the most statements and the fewest bytes of RUNS calls are compared with its budget.
+ * Work done on other threads (password hashing, streamed exports, the parallel overdue scan)
+ * is not included. The dataset is large enough for a scan of all loans, users or books
+ * to break the byte budgets; budgets keep about twice the measured allocation as headroom
+ * and should be lowered when an endpoint gets cheaper.
+ *
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+// the budgets are calibrated for the dataset seeded below, not the one generated on startup
+@SpringBootTest(properties = {"library.dataset.books=0", "library.dataset.users=0", "library.dataset.loans=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class EndpointBudgetTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EndpointBudgetTest.class);
+
+    private static final int SEEDED_BOOKS = 500;
+
+    private static final int SEEDED_USERS = 1000;
+
+    private static final int SEEDED_LOANS = 5000;
+
+    private static final int WARMUP = 5;
+
+    private static final int RUNS = 5;
+
+    private static final long KB = 1024;
+
+    /** The seeded dataset, shared by all tests as the application context is */
+    private static Dataset dataset;
+
+    private static final AtomicInteger FRESH = new AtomicInteger();
+
+    @Rule
+    public ErrorCollector budgets = new ErrorCollector();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SingleLoanRepository singleLoanRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String authorization;
+
+    @Before
+    public void setUp() {
+        if (dataset == null) {
+            dataset = transactionTemplate.execute(status -> seed());
+        }
+        authorization = "Bearer " + tokenService.issue(new UsernamePasswordAuthenticationToken("admin@mail.com", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"))).getToken();
+    }
+
+    @Test
+    public void bookEndpoints() throws Exception {
+        within(2, 512 * KB, () -> get("/rest/books"));
+        within(2, 640 * KB, () -> get("/rest/books").param("sort", "title").param("size", "50"));
+        within(1, 576 * KB, () -> get("/rest/books_title/{title}", "Seeded book 42"));
+        within(1, 576 * KB, () -> get("/rest/books_author/{author}", "Seeded author 7"));
+        within(1, 448 * KB, () -> get("/rest/book_id/{id}", dataset.hotBook));
+        within(2, 448 * KB, () -> get("/rest/books/{id}/inventory", dataset.hotBook));
+        within(3, 448 * KB, () -> put("/rest/books/{id}/copies", dataset.quietBook).param("copies", "3"));
+        within(2, 448 * KB, () -> post("/rest/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Budget\",\"author\":\"Contract\"}"));
+        within(3, 832 * KB, () -> post("/rest/books/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"title\":\"Imported\",\"author\":\"Contract\"},"
+                        + "{\"title\":\"Budget " + fresh() + "\",\"author\":\"Contract\"}]"));
+        within(3, 896 * KB, () -> post("/rest/books/import")
+                .contentType("text/csv")
+                .content("title,author\nImported,Contract\nBudget " + fresh() + ",Contract\n"));
+        within(2, 448 * KB, () -> delete("/rest/delete/book/{id}", freshBook().getId()));
+    }
+
+    @Test
+    public void userEndpoints() throws Exception {
+        within(1, 448 * KB, () -> get("/rest/user_id/{id}", dataset.hotUser));
+        within(1, 384 * KB, () -> get("/rest/users_firstName/{firstName}", "Seeded 7"));
+        within(1, 384 * KB, () -> get("/rest/users_lastName/{lastName}", "Reader 42"));
+        within(1, 448 * KB, () -> get("/rest/user_email/{email}", "reader42@mail.com"));
+        within(2, 512 * KB, () -> get("/rest/users"));
+        within(2, 640 * KB, () -> get("/rest/users").param("sort", "lastName").param("size", "50"));
+        within(1, 384 * KB, () -> get("/rest/librarians"));
+        within(2, 576 * KB, () -> post("/rest/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Budget\",\"lastName\":\"Contract\",\"email\":\"budget" + fresh()
+                        + "@mail.com\",\"passwordHash\":\"budget\"}"));
+        within(2, 320 * KB, () -> put("/rest/users/{id}/librarian", dataset.quietUser).param("librarian", "true"));
+        within(3, 384 * KB, () -> delete("/rest/delete/user/{id}", freshUser().getId()));
+    }
+
+    @Test
+    public void loanEndpoints() throws Exception {
+        within(1, 832 * KB, () -> get("/rest/users/{id}/loans", dataset.hotUser));
+        within(1, 768 * KB, () -> get("/rest/books/{id}/loans", dataset.hotBook));
+        // all open loans, about 500 of the hot user and of the hot book
+        within(1, 6144 * KB, () -> get("/rest/users/{id}/loans/open", dataset.hotUser));
+        within(1, 6016 * KB, () -> get("/rest/books/{id}/loans/open", dataset.hotBook));
+        within(1, 768 * KB, () -> get("/rest/loans"));
+        within(1, 1152 * KB, () -> get("/rest/loans").param("sort", "registeredAt").param("size", "50"));
+        within(1, 704 * KB, () -> get("/rest/loans/open"));
+        within(1, 448 * KB, () -> get("/rest/loan_id/{id}", dataset.loan));
+        within(1, 384 * KB, () -> get("/rest/loans_count"));
+        within(1, 384 * KB, () -> get("/rest/loans/overdue"));
+        // the scan reads all open loans and the export all loans by design,
+        // statements of the export run on a streaming thread and are not counted
+        within(24, 40960 * KB, () -> post("/rest/loans/overdue/scan"));
+        within(1, 18560 * KB, () -> get("/rest/loans/export"));
+        within(8, 3328 * KB, () -> post("/rest/loans")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"book\":{\"id\":" + freshBook().getId() + "},\"user\":{\"id\":" + dataset.quietUser
+                        + "},\"registeredAt\":\"2020-03-01T12:00:00\"}"));
+        within(4, 512 * KB, () -> put("/rest/loan_update/{id}", freshLoan())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"returnedAt\":\"2020-03-02T12:00:00\",\"returnCondition\":\"good\"}"));
+        within(4, 448 * KB, () -> delete("/rest/delete/loan/{id}", freshLoan()));
+    }
+
+    /**
+     * calls the endpoint and records a failure if its statements or allocated bytes exceed the budget
+     *
+     * @param statements most SQL statements per request
+     * @param bytes      most bytes allocated by the request thread per request
+     * @param request    builds the request, called before every call so that it can create fresh data
+     */
+    private void within(int statements, long bytes, Callable<MockHttpServletRequestBuilder> request) throws Exception {
+        String endpoint = null;
+        for (int i = 0; i < WARMUP; i++) {
+            endpoint = call(request.call()).endpoint;
+        }
+        int mostStatements = 0;
+        long fewestBytes = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            Usage usage = call(request.call());
+            mostStatements = Math.max(mostStatements, usage.statements);
+            fewestBytes = Math.min(fewestBytes, usage.bytes);
+        }
+        LOGGER.info("{}: {} SQL statements, {} KB allocated.", endpoint, mostStatements, fewestBytes / KB);
+        budgets.checkThat(endpoint + " SQL statements", mostStatements, lessThanOrEqualTo(statements));
+        if (fewestBytes >= 0) {
+            budgets.checkThat(endpoint + " allocated bytes", fewestBytes, lessThanOrEqualTo(bytes));
+        }
+    }
+
+    private Usage call(MockHttpServletRequestBuilder request) throws Exception {
+        long before = allocatedBytes();
+        MvcResult result = mockMvc.perform(request
+                .header(HttpHeaders.AUTHORIZATION, authorization)
+                .with(servletPath()))
+                .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(result)).andExpect(status().is2xxSuccessful());
+        }
+        long after = allocatedBytes();
+        String endpoint = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        if (result.getResponse().getStatus() / 100 != 2) {
+            throw new AssertionError(endpoint + " answered " + result.getResponse().getStatus() + ": "
+                    + result.getResponse().getContentAsString());
+        }
+        String statements = result.getResponse().getHeader(SqlStatisticsFilter.STATEMENTS);
+        if (statements == null) {
+            throw new AssertionError(endpoint + " has no " + SqlStatisticsFilter.STATEMENTS + " header.");
+        }
+        return new Usage(endpoint, Integer.parseInt(statements), before >= 0 ? after - before : -1);
+    }
+
+    /**
+     * the DispatcherServlet is mapped to /, so the servlet path of a request is its whole path,
+     * decoded, SqlStatisticsFilter accounts only requests whose servlet path starts with /rest/
+     */
+    private static RequestPostProcessor servletPath() {
+        return request -> {
+            request.setServletPath(UriUtils.decode(request.getRequestURI(), StandardCharsets.UTF_8));
+            return request;
+        };
+    }
+
+    /**
+     * @return bytes allocated by the current thread so far, -1 if the JVM does not count them
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean counting = (com.sun.management.ThreadMXBean) threads;
+        if (!counting.isThreadAllocatedMemorySupported() || !counting.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return counting.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static int fresh() {
+        return FRESH.incrementAndGet();
+    }
+
+    private Book freshBook() {
+        return bookRepository.save(new Book("Fresh book " + fresh(), "Contract"));
+    }
+
+    private User freshUser() {
+        int n = fresh();
+        User user = new User("Fresh", "User " + n, "fresh" + n + "@mail.com", false);
+        user.setPasswordHash("fresh");
+        return userRepository.save(user);
+    }
+
+    /**
+     * @return id of an open loan of a fresh book, lent like by POST /rest/loans so its copy is taken
+     */
+    private long freshLoan() {
+        Book book = freshBook();
+        User user = userRepository.findById(dataset.quietUser).orElseThrow(IllegalStateException::new);
+        return inventoryService.borrowBook(new SingleLoan(book, user, LocalDateTime.now()));
+    }
+
+    /**
+     * Seeded books, users and loans: every fifth loan is of the hot user, every fifth of the hot book,
+     * half of them are returned and the open ones are up to 90 days old.
+     */
+    private Dataset seed() {
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < SEEDED_BOOKS; i++) {
+            books.add(new Book("Seeded book " + i, "Seeded author " + i % 50));
+        }
+        books = (List<Book>) bookRepository.saveAll(books);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < SEEDED_USERS; i++) {
+            User user = new User("Seeded " + i % 200, "Reader " + i, "reader" + i + "@mail.com", i % 100 == 0);
+            user.setPasswordHash("seeded");
+            users.add(user);
+        }
+        users = (List<User>) userRepository.saveAll(users);
+        LocalDateTime now = LocalDateTime.now();
+        List<SingleLoan> loans = new ArrayList<>();
+        for (int i = 0; i < SEEDED_LOANS; i++) {
+            Book book = books.get(i % 5 == 1 ? 0 : i % SEEDED_BOOKS);
+            User user = users.get(i % 5 == 0 ? 0 : i % SEEDED_USERS);
+            SingleLoan loan = new SingleLoan(book, user, now.minusDays(i % 90).minusHours(i % 24));
+            if (i % 2 == 0) {
+                loan.setReturnedAt(loan.getRegisteredAt().plusDays(i % 14));
+                loan.setReturnCondition("good");
+            }
+            loans.add(loan);
+        }
+        loans = (List<SingleLoan>) singleLoanRepository.saveAll(loans);
+        return new Dataset(books.get(0).getId(), books.get(SEEDED_BOOKS - 2).getId(),
+                users.get(0).getId(), users.get(SEEDED_USERS - 1).getId(), loans.get(SEEDED_LOANS / 2).getId());
+    }
+
+    private static final class Dataset {
+
+        /** Book of every fifth loan */
+        private final long hotBook;
+
+        /** Book without open loans */
+        private final long quietBook;
+
+        /** User of every fifth loan */
+        private final long hotUser;
+
+        /** Reader of the fresh loans */
+        private final long quietUser;
+
+        private final long loan;
+
+        Dataset(long hotBook, long quietBook, long hotUser, long quietUser, long loan) {
+            this.hotBook = hotBook;
+            this.quietBook = quietBook;
+            this.hotUser = hotUser;
+            this.quietUser = quietUser;
+            this.loan = loan;
+        }
+    }
+
+    private static final class Usage {
+
+        private final String endpoint;
+
+        private final int statements;
+
+        /** -1 if not counted */
+        private final long bytes;
+
+        Usage(String endpoint, int statements, long bytes) {
+            this.endpoint = endpoint;
+            this.statements = statements;
+            this.bytes = bytes;
+        }
+    }
+}
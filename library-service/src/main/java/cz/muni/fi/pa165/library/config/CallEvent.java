@@ -0,0 +1,36 @@
+package cz.muni.fi.pa165.library.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event of one call timed by {@link MethodMetricsAspect},
+ * its duration is the duration of the call.
+ *
+ * Stack traces are not recorded, they would cost more than the calls themselves.
+ * While no recording is running the events are neither filled in nor committed.
+ *
+ * @since 18.10.2026
+ */
+@Category("Library")
+@StackTrace(false)
+abstract class CallEvent extends Event {
+
+    @Label("Type")
+    @Description("Facade or repository interface, or the target class of a mapping")
+    String type;
+
+    @Label("Method")
+    String method;
+
+    @Label("Result Count")
+    @Description("Number of returned items, -1 if the result is not a collection or page")
+    long resultCount;
+
+    @Label("Exception")
+    @Description("Class of the thrown exception, null on success")
+    String exception;
+}
@@ -0,0 +1,16 @@
+package cz.muni.fi.pa165.library.config;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Call of a BookFacade, LoanFacade or UserFacade method.
+ *
+ * @since 18.10.2026
+ */
+@Name("cz.muni.fi.pa165.library.FacadeCall")
+@Label("Facade Call")
+@Description("Call of a BookFacade, LoanFacade or UserFacade method")
+class FacadeCallEvent extends CallEvent {
+}
@@ -0,0 +1,16 @@
+package cz.muni.fi.pa165.library.config;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Mapping of one object or of a collection by MappingService.mapTo.
+ *
+ * @since 18.10.2026
+ */
+@Name("cz.muni.fi.pa165.library.Mapping")
+@Label("Mapping")
+@Description("Mapping of one object or of a collection by MappingService.mapTo")
+class MappingEvent extends CallEvent {
+}
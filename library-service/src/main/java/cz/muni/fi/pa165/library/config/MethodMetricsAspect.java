@@ -0,0 +1,252 @@
+package cz.muni.fi.pa165.library.config;
+
+import cz.muni.fi.pa165.library.dto.PageDTO;
+import cz.muni.fi.pa165.library.services.KeysetPage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call of the facades, the Spring Data repositories and MappingService.mapTo.
+ *
+ * Calls are recorded by timers library.facade, library.repository and library.mapping,
+ * tagged by the called class and method and by the thrown exception (none on success).
+ * Calls returning a collection or a page also record its size in a distribution summary
+ * of the same name with suffix .results. Timers publish p50, p95 and p99 and a percentile
+ * histogram, management.metrics.distribution.* properties of the meter names override them.
+ *
+ * Every call is also a JDK Flight Recorder event (FacadeCallEvent, RepositoryCallEvent, MappingEvent)
+ * with the same type, method, result count and exception, committed only while a recording runs.
+ *
+ * Meters of successful calls are looked up once per method and class, the advice itself
+ * only reads the clock twice. Set library.metrics.enabled=false to leave the calls unadvised,
+ * which also removes the events.
+ *
+ * @since 18.10.2026
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "library.metrics.enabled", matchIfMissing = true)
+public class MethodMetricsAspect {
+
+    static final String FACADE = "library.facade";
+
+    static final String REPOSITORY = "library.repository";
+
+    static final String MAPPING = "library.mapping";
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+
+    /** Meters of successful calls by method and the class of the called bean */
+    private final ConcurrentMap<Key, Meters> meters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MethodMetricsAspect(ObjectProvider<MeterRegistry> registry) {
+        this(registry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    MethodMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * cz.muni.fi.pa165.library.facade.*Facade.*(..))")
+    public Object timeFacade(ProceedingJoinPoint call) throws Throwable {
+        return time(FACADE, "facade", null, new FacadeCallEvent(), call);
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint call) throws Throwable {
+        return time(REPOSITORY, "repository", null, new RepositoryCallEvent(), call);
+    }
+
+    @Around("execution(public * cz.muni.fi.pa165.library.services.MappingService.mapTo(..)) && args(*, target)")
+    public Object timeMapping(ProceedingJoinPoint call, Class<?> target) throws Throwable {
+        return time(MAPPING, "target", target.getSimpleName(), new MappingEvent(), call);
+    }
+
+    private Object time(String name, String tag, String tagValue, CallEvent event, ProceedingJoinPoint call)
+            throws Throwable {
+        Method method = ((MethodSignature) call.getSignature()).getMethod();
+        Class<?> type = call.getTarget().getClass();
+        Meters success = meters.computeIfAbsent(new Key(method, type, tagValue),
+                key -> new Meters(name, tag, tagValue != null ? tagValue : calledType(type), method));
+        event.begin();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = call.proceed();
+        } catch (Throwable e) {
+            success.failed(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            commit(event, success, -1, e);
+            throw e;
+        }
+        success.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        int size = success.results != null ? size(result) : -1;
+        if (size >= 0) {
+            success.results.record(size);
+        }
+        commit(event, success, size, null);
+        return result;
+    }
+
+    private static void commit(CallEvent event, Meters meters, int resultCount, Throwable exception) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = meters.tagValue;
+            event.method = meters.method.getName();
+            event.resultCount = resultCount;
+            event.exception = exception != null ? exception.getClass().getSimpleName() : null;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return the facade interface or repository interface the bean implements, otherwise its class
+     */
+    private static String calledType(Class<?> type) {
+        for (Class<?> implemented : type.getInterfaces()) {
+            if (implemented.getName().startsWith("cz.muni.fi.pa165.library.")
+                    && (implemented.getSimpleName().endsWith("Facade") || Repository.class.isAssignableFrom(implemented))) {
+                return implemented.getSimpleName();
+            }
+        }
+        String name = type.getSimpleName();
+        int generated = name.indexOf("$$");
+        return generated > 0 ? name.substring(0, generated) : name;
+    }
+
+    /**
+     * @return number of items in a collection, map, array or page, -1 for other results
+     */
+    static int size(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        }
+        if (result instanceof Object[]) {
+            return ((Object[]) result).length;
+        }
+        if (result instanceof Slice) {
+            return ((Slice<?>) result).getNumberOfElements();
+        }
+        if (result instanceof KeysetPage) {
+            return ((KeysetPage<?>) result).getContent().size();
+        }
+        if (result instanceof PageDTO && ((PageDTO<?>) result).getContent() != null) {
+            return ((PageDTO<?>) result).getContent().size();
+        }
+        return -1;
+    }
+
+    /**
+     * @return whether results of the type may have a size, see size
+     */
+    private static boolean sized(Class<?> type) {
+        return Iterable.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type) || type.isArray()
+                || type == KeysetPage.class || type == PageDTO.class;
+    }
+
+    private final class Meters {
+
+        private final String name;
+
+        private final String tag;
+
+        private final String tagValue;
+
+        private final Method method;
+
+        private final Timer timer;
+
+        /** null if the method does not return a collection or page */
+        private final DistributionSummary results;
+
+        Meters(String name, String tag, String tagValue, Method method) {
+            this.name = name;
+            this.tag = tag;
+            this.tagValue = tagValue;
+            this.method = method;
+            timer = timer("none");
+            results = sized(method.getReturnType())
+                    ? DistributionSummary.builder(name + ".results")
+                            .tag(tag, tagValue)
+                            .tag("method", method.getName())
+                            .publishPercentiles(PERCENTILES)
+                            .register(registry)
+                    : null;
+        }
+
+        /**
+         * @return timer of the calls which threw an exception of the same class, failures are rare
+         * so it is looked up in the registry every time
+         */
+        Timer failed(Throwable e) {
+            return timer(e.getClass().getSimpleName());
+        }
+
+        private Timer timer(String exception) {
+            return Timer.builder(name)
+                    .tag(tag, tagValue)
+                    .tag("method", method.getName())
+                    .tag("exception", exception)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+        }
+    }
+
+    private static final class Key {
+
+        private final Method method;
+
+        private final Class<?> type;
+
+        private final String tagValue;
+
+        Key(Method method, Class<?> type, String tagValue) {
+            this.method = method;
+            this.type = type;
+            this.tagValue = tagValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return method.equals(key.method) &&
+                    type == key.type &&
+                    Objects.equals(tagValue, key.tagValue);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(method, type, tagValue);
+        }
+    }
+}
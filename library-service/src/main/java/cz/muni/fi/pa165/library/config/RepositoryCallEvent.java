@@ -0,0 +1,16 @@
+package cz.muni.fi.pa165.library.config;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Call of a Spring Data repository method.
+ *
+ * @since 18.10.2026
+ */
+@Name("cz.muni.fi.pa165.library.RepositoryCall")
+@Label("Repository Call")
+@Description("Call of a Spring Data repository method")
+class RepositoryCallEvent extends CallEvent {
+}
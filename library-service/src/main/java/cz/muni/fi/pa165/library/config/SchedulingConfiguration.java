@@ -0,0 +1,14 @@
+package cz.muni.fi.pa165.library.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs @Scheduled jobs of the services, such as the nightly overdue loan scan.
+ *
+ * @since 18.10.2026
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -1,15 +1,24 @@
 package cz.muni.fi.pa165.library.facade;
 
 import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.ImportSummaryDTO;
+import cz.muni.fi.pa165.library.dto.InventoryDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.BookInventory;
 import cz.muni.fi.pa165.library.services.BookService;
+import cz.muni.fi.pa165.library.services.ImportSummary;
+import cz.muni.fi.pa165.library.services.InventoryService;
+import cz.muni.fi.pa165.library.services.KeysetPage;
 import cz.muni.fi.pa165.library.services.MappingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -28,12 +37,21 @@ public class BookFacadeImpl implements BookFacade {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private InventoryService inventoryService;
+
     @Override
     public long createBook(BookDTO book) {
         LOGGER.info("Creating book {}.", book);
         return bookService.createBook(mappingService.mapTo(book, Book.class));
     }
 
+    @Override
+    public ImportSummaryDTO importBooks(InputStream books, String format) {
+        ImportSummary summary = bookService.importBooks(books, format);
+        return new ImportSummaryDTO(summary.getInserted(), summary.getSkipped());
+    }
+
     @Override
     public long deleteBook(long id) {
         LOGGER.info("Deleting book with id {}.", id);
@@ -54,6 +72,13 @@ public class BookFacadeImpl implements BookFacade {
         return resultDto;
     }
 
+    @Override
+    public PageDTO<BookDTO> findBooksPage(String sort, String cursor, int size) {
+        LOGGER.info("Finding {} books sorted by {}.", size, sort);
+        KeysetPage<Book> page = bookService.findPage(sort, cursor, size);
+        return new PageDTO<>(mappingService.mapTo(page.getContent(), BookDTO.class), page.getNextCursor());
+    }
+
     @Override
     public List<BookDTO> findByTitle(String title) {
         LOGGER.info("Finding all books containing {} in title.", title);
@@ -90,4 +115,20 @@ public class BookFacadeImpl implements BookFacade {
         }
         return null;
     }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InventoryDTO getInventory(long bookId) {
+        return toDto(inventoryService.getInventory(bookId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InventoryDTO setCopies(long bookId, int copies) {
+        return toDto(inventoryService.setCopies(bookId, copies));
+    }
+
+    private static InventoryDTO toDto(BookInventory inventory) {
+        return new InventoryDTO(inventory.getBookId(), inventory.getCopies(), inventory.getAvailableCopies());
+    }
 }
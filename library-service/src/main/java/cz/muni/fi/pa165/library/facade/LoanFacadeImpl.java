@@ -1,20 +1,25 @@
 package cz.muni.fi.pa165.library.facade;
 
-import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.OverdueLoanDTO;
+import cz.muni.fi.pa165.library.dto.OverdueReportDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
-import cz.muni.fi.pa165.library.dto.UserDTO;
-import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.OverdueLoan;
+import cz.muni.fi.pa165.library.entities.OverdueScan;
 import cz.muni.fi.pa165.library.entities.SingleLoan;
-import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.services.InventoryService;
+import cz.muni.fi.pa165.library.services.KeysetPage;
 import cz.muni.fi.pa165.library.services.MappingService;
+import cz.muni.fi.pa165.library.services.OverdueScanService;
 import cz.muni.fi.pa165.library.services.SingleLoanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /** @author Martin Páleník 359817 */
 @Service
@@ -27,28 +32,33 @@ public class LoanFacadeImpl implements LoanFacade{
     @Autowired
     private SingleLoanService singleLoanService;
 
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OverdueScanService overdueScanService;
+
+    /*
+     * Lending, returning and deleting loans change the counters of available copies,
+     * they run without the facade transaction, InventoryService commits while holding the lock of the book.
+     */
+
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long borrowBook(SingleLoanDTO singleLoanInfo) {
-        return singleLoanService.createSingleLoan(mappingService.mapTo(singleLoanInfo, SingleLoan.class));
+        return inventoryService.borrowBook(mappingService.mapTo(singleLoanInfo, SingleLoan.class));
     }
 
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void returnBook(SingleLoanDTO returnInfo) {
-        Optional<SingleLoan> loan = singleLoanService.findById(returnInfo.getId());
-
-        if (loan.isPresent()){
-            singleLoanService.returnBook(loan.get(), returnInfo.getReturnedAt(), returnInfo.getReturnCondition());
-        } else {
-            throw new NoSuchElementException("No loan with id " + returnInfo.getId() + " has been found.");
-        }
+        inventoryService.returnBook(returnInfo.getId(), returnInfo.getReturnedAt(), returnInfo.getReturnCondition());
     }
 
     @Override
-    public List<SingleLoanDTO> getLoansForUser(UserDTO userDto) {
+    public List<SingleLoanDTO> getLoansForUser(long userId, int page, int size) {
 
-        List <SingleLoan> results = singleLoanService.getLoansForUser(
-                mappingService.mapTo(userDto, User.class)
-        );
+        List <SingleLoan> results = singleLoanService.getLoansForUser(userId, page, size);
 
         List<SingleLoanDTO> resultsDto = new ArrayList<>();
         for (SingleLoan result : results){
@@ -61,10 +71,8 @@ public class LoanFacadeImpl implements LoanFacade{
     }
 
     @Override
-    public List<SingleLoanDTO> getLoansForBook(BookDTO bookDto) {
-        List <SingleLoan> results = singleLoanService.getLoansForBook(
-                mappingService.mapTo(bookDto, Book.class)
-        );
+    public List<SingleLoanDTO> getLoansForBook(long bookId, int page, int size) {
+        List <SingleLoan> results = singleLoanService.getLoansForBook(bookId, page, size);
 
         List<SingleLoanDTO> resultsDto = new ArrayList<>();
         for (SingleLoan result : results){
@@ -76,6 +84,22 @@ public class LoanFacadeImpl implements LoanFacade{
         return resultsDto;
     }
 
+    @Override
+    public List<SingleLoanDTO> getOpenLoansForUser(long userId) {
+        return mappingService.mapTo(singleLoanService.getOpenLoansForUser(userId), SingleLoanDTO.class);
+    }
+
+    @Override
+    public List<SingleLoanDTO> getOpenLoansForBook(long bookId) {
+        return mappingService.mapTo(singleLoanService.getOpenLoansForBook(bookId), SingleLoanDTO.class);
+    }
+
+    @Override
+    public PageDTO<SingleLoanDTO> getOpenSingleLoansPage(String cursor, int size) {
+        KeysetPage<SingleLoan> page = singleLoanService.findOpenPage(cursor, size);
+        return new PageDTO<>(mappingService.mapTo(page.getContent(), SingleLoanDTO.class), page.getNextCursor());
+    }
+
     @Override
     public List<SingleLoanDTO> getAllSingleLoans() {
 
@@ -89,6 +113,31 @@ public class LoanFacadeImpl implements LoanFacade{
         return resultsDto;
     }
 
+    @Override
+    public PageDTO<SingleLoanDTO> getSingleLoansPage(String sort, String cursor, int size) {
+        KeysetPage<SingleLoan> page = singleLoanService.findPage(sort, cursor, size);
+        return new PageDTO<>(mappingService.mapTo(page.getContent(), SingleLoanDTO.class), page.getNextCursor());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportSingleLoans(Consumer<SingleLoanDTO> sink) {
+        return singleLoanService.exportAll(
+                loan -> sink.accept(mappingService.mapTo(loan, SingleLoanDTO.class))
+        );
+    }
+
+    @Override
+    public OverdueReportDTO getOverdueReport() {
+        return overdueScanService.getLastReport().map(LoanFacadeImpl::toDto).orElse(null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OverdueReportDTO scanOverdueLoans() {
+        return toDto(overdueScanService.scan());
+    }
+
     @Override
     public SingleLoanDTO getSingleLoanById(long id) {
         Optional<SingleLoan> singleLoan = singleLoanService.findById(id);
@@ -109,7 +158,28 @@ public class LoanFacadeImpl implements LoanFacade{
     }
 
     @Override
-    public void deleteById(long userId) {
-        singleLoanService.deleteById(userId);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteById(long loanId) {
+        inventoryService.deleteLoan(loanId);
+    }
+
+    private static OverdueReportDTO toDto(OverdueScan scan) {
+        OverdueReportDTO report = new OverdueReportDTO();
+        report.setId(scan.getId());
+        report.setAsOf(scan.getAsOf());
+        report.setFinishedAt(scan.getFinishedAt());
+        report.setScanned(scan.getScanned());
+        report.setOverdue(scan.getOverdue());
+        report.setOverdueWeek(scan.getOverdueWeek());
+        report.setOverdueMonth(scan.getOverdueMonth());
+        report.setOverdueLonger(scan.getOverdueLonger());
+        report.setDurationMillis(scan.getDurationMillis());
+        report.setRowsPerSecond(scan.getScanned() * 1000 / Math.max(1, scan.getDurationMillis()));
+        for (OverdueLoan loan : scan.getLongestOverdue()) {
+            report.getLongestOverdue().add(
+                    new OverdueLoanDTO(loan.getLoanId(), loan.getBookId(), loan.getUserId(), loan.getDaysOverdue())
+            );
+        }
+        return report;
     }
-}
\ No newline at end of file
+}
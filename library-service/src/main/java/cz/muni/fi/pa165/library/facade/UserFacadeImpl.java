@@ -1,7 +1,9 @@
 package cz.muni.fi.pa165.library.facade;
 
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.dto.UserDTO;
 import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.services.KeysetPage;
 import cz.muni.fi.pa165.library.services.MappingService;
 import cz.muni.fi.pa165.library.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Katarína Hermanová
@@ -62,7 +65,11 @@ public class UserFacadeImpl implements UserFacade {
 
     @Override
     public UserDTO findByEmail(String email) {
-        return mappingService.mapTo(userService.findByEmail(email), UserDTO.class);
+        User user = userService.findByEmail(email);
+        if (user != null) {
+            return mappingService.mapTo(user, UserDTO.class);
+        }
+        return null;
     }
 
     @Override
@@ -78,6 +85,12 @@ public class UserFacadeImpl implements UserFacade {
         return resultDto;
     }
 
+    @Override
+    public PageDTO<UserDTO> findPage(String sort, String cursor, int size) {
+        KeysetPage<User> page = userService.findPage(sort, cursor, size);
+        return new PageDTO<>(mappingService.mapTo(page.getContent(), UserDTO.class), page.getNextCursor());
+    }
+
     @Override
     public List<UserDTO> findAllLibrarians() {
         List<UserDTO> resultDto = new ArrayList<>();
@@ -96,6 +109,16 @@ public class UserFacadeImpl implements UserFacade {
         return userService.addUser(mappingService.mapTo(user, User.class), password);
     }
 
+    @Override
+    public CompletableFuture<Long> addUserAsync(UserDTO user, String password) {
+        return userService.addUserAsync(mappingService.mapTo(user, User.class), password);
+    }
+
+    @Override
+    public void setLibrarian(long id, boolean librarian) {
+        userService.setLibrarian(id, librarian);
+    }
+
     @Override
     public void deleteUser(long id) {
         userService.deleteUser(id);
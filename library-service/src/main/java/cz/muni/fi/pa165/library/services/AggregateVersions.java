@@ -0,0 +1,66 @@
+package cz.muni.fi.pa165.library.services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory version counters of books, users and loans, bumped by every write to them.
+ *
+ * Counters are bumped after the writing transaction commits, so a reader that takes
+ * the version before reading the data never labels stale data by a newer version.
+ * Versions start from zero with every start of the application, the start time
+ * is part of the entity tag so that tags issued before a restart do not match.
+ *
+ * @since 18.10.2026
+ */
+@Component
+public class AggregateVersions {
+
+    public enum Aggregate {
+        BOOKS, USERS, LOANS
+    }
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+
+    /**
+     * @param aggregate to look at
+     * @return current version of the aggregate
+     */
+    public long get(Aggregate aggregate) {
+        return versions.get(aggregate.ordinal());
+    }
+
+    /**
+     * bumps the version once the current transaction commits, immediately if there is none
+     *
+     * @param aggregate changed by the current transaction
+     */
+    public void bumpAfterCommit(Aggregate aggregate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.incrementAndGet(aggregate.ordinal());
+                }
+            });
+        } else {
+            versions.incrementAndGet(aggregate.ordinal());
+        }
+    }
+
+    /**
+     * @param aggregates whose data is part of the representation
+     * @return strong entity tag changing whenever any of the aggregates changes
+     */
+    public String etag(Aggregate... aggregates) {
+        StringBuilder etag = new StringBuilder("\"").append(epoch);
+        for (Aggregate aggregate : aggregates) {
+            etag.append('-').append(get(aggregate));
+        }
+        return etag.append('"').toString();
+    }
+}
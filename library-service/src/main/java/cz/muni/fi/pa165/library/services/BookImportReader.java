@@ -0,0 +1,214 @@
+package cz.muni.fi.pa165.library.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Incremental readers of the bulk book import formats,
+ * the next book is parsed only when it is asked for.
+ *
+ * JSON input is an array of objects with title and author attributes, other attributes are ignored.
+ * CSV input has a title and an author column, an optional "title,author" header line
+ * and fields quoted by double quotes where needed.
+ * Entries without a title or an author are returned with the attribute null
+ * and left to the importer to skip.
+ *
+ * @since 18.10.2026
+ */
+final class BookImportReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory()
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private BookImportReader() {
+    }
+
+    /**
+     * @param in     stream of books
+     * @param format json or csv
+     * @return iterator reading books from the stream
+     * @throws InvalidArgumentException if the format is unknown
+     */
+    static Iterator<Book> read(InputStream in, String format) {
+        if ("json".equals(format)) {
+            return new JsonBooks(in);
+        }
+        if ("csv".equals(format)) {
+            return new CsvBooks(in);
+        }
+        throw new InvalidArgumentException("Unknown import format " + format + ".");
+    }
+
+    private abstract static class LookaheadIterator implements Iterator<Book> {
+
+        private Book next;
+
+        /**
+         * @return next book of the input or null at its end
+         */
+        protected abstract Book readNext() throws IOException;
+
+        protected void advance() {
+            try {
+                next = readNext();
+            } catch (JsonProcessingException e) {
+                throw new InvalidArgumentException("Malformed JSON import: " + e.getOriginalMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Book next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Book book = next;
+            advance();
+            return book;
+        }
+    }
+
+    private static class JsonBooks extends LookaheadIterator {
+
+        private final JsonParser parser;
+
+        JsonBooks(InputStream in) {
+            try {
+                parser = JSON_FACTORY.createParser(in);
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new InvalidArgumentException("JSON import has to be an array of books.");
+                }
+            } catch (JsonProcessingException e) {
+                throw new InvalidArgumentException("Malformed JSON import: " + e.getOriginalMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            advance();
+        }
+
+        @Override
+        protected Book readNext() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new InvalidArgumentException("JSON import has to be an array of books.");
+            }
+            Book book = new Book();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("title".equals(field) && value == JsonToken.VALUE_STRING) {
+                    book.setTitle(parser.getText());
+                } else if ("author".equals(field) && value == JsonToken.VALUE_STRING) {
+                    book.setAuthor(parser.getText());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return book;
+        }
+    }
+
+    private static class CsvBooks extends LookaheadIterator {
+
+        private final BufferedReader reader;
+
+        private boolean firstRecord = true;
+
+        CsvBooks(InputStream in) {
+            reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            advance();
+        }
+
+        @Override
+        protected Book readNext() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+                if (firstRecord) {
+                    firstRecord = false;
+                    if (record.size() == 2 && "title".equalsIgnoreCase(record.get(0).trim())
+                            && "author".equalsIgnoreCase(record.get(1).trim())) {
+                        record = null;
+                    }
+                }
+            } while (record == null || (record.size() == 1 && record.get(0).isEmpty()));
+
+            Book book = new Book();
+            if (record.size() == 2) {
+                book.setTitle(record.get(0));
+                book.setAuthor(record.get(1));
+            }
+            return book;
+        }
+
+        /**
+         * @return fields of the next line, null at the end of the input
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>(2);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean read = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                read = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (quoted) {
+                throw new InvalidArgumentException("Malformed CSV import: unterminated quoted field.");
+            }
+            if (!read) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package cz.muni.fi.pa165.library.services;
 
 import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
 import cz.muni.fi.pa165.library.repositories.BookRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * @author Petr Janik 485122
@@ -20,9 +32,34 @@ import java.util.stream.Collectors;
 public class BookService {
     private static final Logger LOGGER = LoggerFactory.getLogger(BookService.class);
 
+    /**
+     * maximum number of ids hydrated by a single query
+     */
+    private static final int HYDRATION_CHUNK_SIZE = 1000;
+
+    /**
+     * number of imported books flushed and cleared from the persistence context at once
+     */
+    static final int IMPORT_BATCH_SIZE = 500;
+
     @Autowired
     private BookRepository bookRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    private final TrigramIndex titleIndex = new TrigramIndex();
+
+    private final TrigramIndex authorIndex = new TrigramIndex();
+
+    private volatile boolean indexLoaded;
+
     /**
      * create a book
      *
@@ -32,6 +69,8 @@ public class BookService {
     public long createBook(Book book) {
         LOGGER.info("Creating book {}.", book);
         book = bookRepository.save(book);
+        index(book);
+        aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.BOOKS);
         LOGGER.info("Created book with id {}.", book.getId());
         return book.getId();
     }
@@ -48,11 +87,66 @@ public class BookService {
         book.ifPresent(b -> {
                     LOGGER.info("Book with id {} has been found.", id);
                     bookRepository.delete(b);
+                    inventoryService.deleteInventory(id);
+                    unindexAfterCommit(id);
+                    aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.BOOKS);
                 }
         );
         return id;
     }
 
+    /**
+     * imports books read incrementally from the stream, they are flushed
+     * in batches of IMPORT_BATCH_SIZE and cleared from the persistence context,
+     * books without title or author and books whose title and author are
+     * already in the catalogue or earlier in the input are skipped,
+     * the imported books are added to the search index once the import commits
+     *
+     * @param in     JSON array or CSV of books
+     * @param format json or csv
+     * @return numbers of inserted and skipped books
+     * @throws InvalidArgumentException if the format is unknown or the input is malformed
+     */
+    public ImportSummary importBooks(InputStream in, String format) {
+        Iterator<Book> books = BookImportReader.read(in, format);
+        LOGGER.info("Importing books from {}.", format);
+        Set<Book> known = new HashSet<>(bookRepository.findAllTitlesAndAuthors());
+        List<Book> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        List<Book> imported = new ArrayList<>();
+        long inserted = 0;
+        long skipped = 0;
+        while (books.hasNext()) {
+            Book book = books.next();
+            if (book.getTitle() == null || book.getTitle().isEmpty()
+                    || book.getAuthor() == null || book.getAuthor().isEmpty()
+                    || !known.add(new Book(book.getTitle(), book.getAuthor()))) {
+                skipped++;
+                continue;
+            }
+            entityManager.persist(book);
+            batch.add(book);
+            if (batch.size() == IMPORT_BATCH_SIZE) {
+                inserted += flushImportBatch(batch, imported);
+            }
+        }
+        inserted += flushImportBatch(batch, imported);
+        if (inserted > 0) {
+            indexAfterCommit(imported);
+            aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.BOOKS);
+        }
+        LOGGER.info("Imported {} books, skipped {}.", inserted, skipped);
+        return new ImportSummary(inserted, skipped);
+    }
+
+    private int flushImportBatch(List<Book> batch, List<Book> imported) {
+        entityManager.flush();
+        entityManager.clear();
+        imported.addAll(batch);
+        int size = batch.size();
+        batch.clear();
+        return size;
+    }
+
     /**
      *
      * @return list of all books
@@ -62,6 +156,43 @@ public class BookService {
         return bookRepository.findAll();
     }
 
+    /**
+     * returns one page of books ordered by the given attribute and id
+     *
+     * @param sort   attribute to sort by, one of id, title, author
+     * @param cursor cursor of the previous page, null for the first page
+     * @param size   number of books on the page
+     * @return page of books
+     * @throws InvalidArgumentException if sort, cursor or size is invalid
+     */
+    public KeysetPage<Book> findPage(String sort, String cursor, int size) {
+        if (sort == null) {
+            throw new InvalidArgumentException("Sort is null");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Pageable limit = KeysetPage.limit(size);
+        switch (sort) {
+            case "id":
+                return KeysetPage.of(
+                        bookRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0 : after.getId(), limit),
+                        size, b -> new KeysetCursor(sort, "", b.getId()));
+            case "title":
+                return KeysetPage.of(
+                        after == null
+                                ? bookRepository.findAllByOrderByTitleAscIdAsc(limit)
+                                : bookRepository.findByTitleAfter(after.getValue(), after.getId(), limit),
+                        size, b -> new KeysetCursor(sort, b.getTitle(), b.getId()));
+            case "author":
+                return KeysetPage.of(
+                        after == null
+                                ? bookRepository.findAllByOrderByAuthorAscIdAsc(limit)
+                                : bookRepository.findByAuthorAfter(after.getValue(), after.getId(), limit),
+                        size, b -> new KeysetCursor(sort, b.getAuthor(), b.getId()));
+            default:
+                throw new InvalidArgumentException("Can not sort books by " + sort + ".");
+        }
+    }
+
     /**
      * method gets all books having certain title
      *
@@ -73,7 +204,8 @@ public class BookService {
             throw new IllegalArgumentException("Title is null");
         }
         LOGGER.info("Finding all books containing {} in title.", title);
-        return bookRepository.findAll().stream().filter(b -> b.getTitle().contains(title)).collect(Collectors.toList());
+        loadIndex();
+        return hydrate(titleIndex.search(title), Book::getTitle, title);
     }
 
     /**
@@ -87,7 +219,8 @@ public class BookService {
             throw new IllegalArgumentException("Author is null");
         }
         LOGGER.info("Finding all books containing {} as an author.", author);
-        return bookRepository.findAll().stream().filter(b -> b.getAuthor().contains(author)).collect(Collectors.toList());
+        loadIndex();
+        return hydrate(authorIndex.search(author), Book::getAuthor, author);
     }
 
     /**
@@ -101,4 +234,90 @@ public class BookService {
         }
         return bookRepository.findById(id).get();
     }
+
+    /**
+     * builds the title and author indexes from the database on first use,
+     * later changes are applied by createBook and deleteBook
+     */
+    private void loadIndex() {
+        if (indexLoaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!indexLoaded) {
+                LOGGER.info("Building book search index.");
+                for (Book book : bookRepository.findAll()) {
+                    index(book);
+                }
+                indexLoaded = true;
+                LOGGER.info("Indexed {} books.", titleIndex.size());
+            }
+        }
+    }
+
+    /**
+     * adds committed books inserted without createBook to the indexes,
+     * unless they have not been built yet and will read the books from the database
+     */
+    synchronized void indexInserted(List<Book> books) {
+        if (indexLoaded) {
+            books.forEach(this::index);
+        }
+    }
+
+    private void index(Book book) {
+        titleIndex.add(book.getId(), book.getTitle());
+        authorIndex.add(book.getId(), book.getAuthor());
+    }
+
+    private void indexAfterCommit(List<Book> books) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indexInserted(books);
+                }
+            });
+        } else {
+            indexInserted(books);
+        }
+    }
+
+    private void unindexAfterCommit(long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    titleIndex.remove(id);
+                    authorIndex.remove(id);
+                }
+            });
+        } else {
+            titleIndex.remove(id);
+            authorIndex.remove(id);
+        }
+    }
+
+    /**
+     * loads books having given ids, ids of books which no longer exist
+     * or no longer contain the query (e.g. rolled back inserts) are skipped
+     *
+     * @param ids       ids found by the index in ascending order
+     * @param attribute searched attribute of the book
+     * @param query     searched substring
+     * @return list of books ordered by id
+     */
+    private List<Book> hydrate(List<Long> ids, Function<Book, String> attribute, String query) {
+        List<Book> books = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += HYDRATION_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + HYDRATION_CHUNK_SIZE, ids.size()));
+            for (Book book : bookRepository.findAllById(chunk)) {
+                if (attribute.apply(book).contains(query)) {
+                    books.add(book);
+                }
+            }
+        }
+        books.sort(Comparator.comparingLong(Book::getId));
+        return books;
+    }
 }
@@ -0,0 +1,289 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.BookInventory;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Inserts the books, users and loans of a {@link DatasetSpec}, e.g. millions of them
+ * to reproduce the scale of a real library.
+ *
+ * Rows are inserted in batches of library.dataset.batch-size, every batch in a transaction of its own,
+ * on library.dataset.threads threads (0 = number of processors, more than the connection pool
+ * has connections do not help). Books and users are inserted before the loans referring to them.
+ * Every book gets its inventory with one copy, or as many as it has open loans, all of them lent,
+ * the same InventoryService would create for it.
+ * Throughput of every table is logged in rows per second.
+ *
+ * The spec built from the library.dataset.* properties is generated on startup of the application,
+ * see SampleDataLoader.
+ *
+ * @since 18.10.2026
+ */
+@Service
+public class DatasetGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    /** Loans are returned within this period */
+    private static final Duration MAX_LOAN_PERIOD = Duration.ofDays(60);
+
+    private static final String[] RETURN_CONDITIONS = {"good", "good", "good", "worn", "damaged"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
+    private final DatasetSpec configuredSpec;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    @Autowired
+    public DatasetGenerator(@Value("${library.dataset.books:0}") int books,
+                            @Value("${library.dataset.users:0}") int users,
+                            @Value("${library.dataset.loans:0}") int loans,
+                            @Value("${library.dataset.seed:42}") long seed,
+                            @Value("${library.dataset.skew:0.8}") double skew,
+                            @Value("${library.dataset.open-loans:0.05}") double openLoans,
+                            @Value("${library.dataset.history:730d}") Duration history,
+                            @Value("${library.dataset.password:userPass}") String password,
+                            @Value("${library.dataset.threads:0}") int threads,
+                            @Value("${library.dataset.batch-size:1000}") int batchSize) {
+        this(new DatasetSpec(books, users, loans, seed, skew, openLoans, history,
+                LocalDate.now().atStartOfDay(), password), threads, batchSize);
+    }
+
+    DatasetGenerator(DatasetSpec configuredSpec, int threads, int batchSize) {
+        if (threads < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Threads must not be negative and batch size must be positive.");
+        }
+        this.configuredSpec = configuredSpec;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the spec of the library.dataset.* properties
+     */
+    public DatasetSpec getConfiguredSpec() {
+        return configuredSpec;
+    }
+
+    /**
+     * inserts the dataset, must not be called within a transaction
+     *
+     * @param spec of the dataset
+     * @return ids of the inserted rows
+     * @throws IllegalStateException if a batch fails, batches inserted until then are kept
+     */
+    public GeneratedDataset generate(DatasetSpec spec) {
+        LOGGER.info("Generating {}.", spec);
+        long start = System.nanoTime();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dataset-generator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long[] bookIds = insert(pool, "books", spec.getBooks(),
+                    i -> new Book(spec.title(i), spec.author(i)),
+                    Book::getId,
+                    (books, from) -> bookService.indexInserted(books));
+            aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.BOOKS);
+
+            String passwordHash = spec.getUsers() > 0 ? passwordHashingService.hash(spec.getPassword()) : null;
+            long[] userIds = insert(pool, "users", spec.getUsers(),
+                    i -> user(spec, i, passwordHash),
+                    User::getId,
+                    (users, from) -> { });
+            aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.USERS);
+
+            boolean[] open = new boolean[spec.getLoans()];
+            AtomicIntegerArray lent = new AtomicIntegerArray(bookIds.length);
+            IntFunction<SingleLoan> loans = loans(spec, bookIds, userIds, lent);
+            long[] loanIds = insert(pool, "loans", spec.getLoans(),
+                    loans,
+                    SingleLoan::getId,
+                    (batch, from) -> {
+                        for (int k = 0; k < batch.size(); k++) {
+                            open[from + k] = batch.get(k).getReturnedAt() == null;
+                        }
+                    });
+            aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.LOANS);
+
+            insert(pool, "inventories", spec.getBooks(),
+                    i -> inventory(bookIds[i], lent.get(i)),
+                    BookInventory::getBookId,
+                    (inventories, from) -> { });
+
+            List<Long> openLoanIds = new ArrayList<>();
+            for (int i = 0; i < loanIds.length; i++) {
+                if (open[i]) {
+                    openLoanIds.add(loanIds[i]);
+                }
+            }
+            GeneratedDataset dataset = new GeneratedDataset(spec, bookIds, userIds, loanIds,
+                    openLoanIds.stream().mapToLong(Long::longValue).toArray(),
+                    Duration.ofNanos(System.nanoTime() - start));
+            LOGGER.info("Generated {} rows in {} ms, {} rows per second.", dataset.getRows(),
+                    dataset.getElapsed().toMillis(), Math.round(dataset.getRowsPerSecond()));
+            return dataset;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static User user(DatasetSpec spec, int i, String passwordHash) {
+        String[] name = spec.name(i);
+        User user = new User(name[0], name[1], DatasetSpec.email(i), false);
+        user.setPasswordHash(passwordHash);
+        return user;
+    }
+
+    private static BookInventory inventory(long bookId, int lent) {
+        int copies = Math.max(1, lent);
+        return new BookInventory(bookId, copies, copies - lent);
+    }
+
+    /**
+     * @param lent open loans by the numbers of their books, counted as the loans are created
+     * @return factory of the i-th loan, to be called within a transaction
+     */
+    private IntFunction<SingleLoan> loans(DatasetSpec spec, long[] bookIds, long[] userIds, AtomicIntegerArray lent) {
+        if (spec.getLoans() == 0) {
+            return i -> null;
+        }
+        SplittableRandom shuffle = spec.popularityRandom();
+        int[] booksByPopularity = shuffled(bookIds.length, shuffle);
+        int[] usersByPopularity = shuffled(userIds.length, shuffle);
+        ZipfDistribution bookPopularity = new ZipfDistribution(bookIds.length, spec.getSkew());
+        ZipfDistribution userPopularity = new ZipfDistribution(userIds.length, spec.getSkew());
+        LocalDateTime end = spec.getEnd();
+        LocalDateTime historyStart = end.minus(spec.getHistory());
+        long step = spec.getHistory().toNanos() / spec.getLoans();
+        return i -> {
+            SplittableRandom random = spec.loanRandom(i);
+            int bookNumber = booksByPopularity[bookPopularity.sample(random)];
+            Book book = entityManager.getReference(Book.class, bookIds[bookNumber]);
+            User user = entityManager.getReference(User.class,
+                    userIds[usersByPopularity[userPopularity.sample(random)]]);
+            LocalDateTime registeredAt = historyStart.plusNanos(step * i).truncatedTo(ChronoUnit.SECONDS);
+            SingleLoan loan = new SingleLoan(book, user, registeredAt);
+            if (random.nextDouble() >= spec.getOpenLoans()) {
+                long period = Math.min(MAX_LOAN_PERIOD.toNanos(), Duration.between(registeredAt, end).toNanos());
+                loan.setReturnedAt(registeredAt.plusNanos((long) (random.nextDouble() * period))
+                        .truncatedTo(ChronoUnit.SECONDS));
+                loan.setReturnCondition(RETURN_CONDITIONS[random.nextInt(RETURN_CONDITIONS.length)]);
+            } else {
+                lent.incrementAndGet(bookNumber);
+            }
+            return loan;
+        };
+    }
+
+    /**
+     * @return numbers 0 to n - 1 in random order
+     */
+    private static int[] shuffled(int n, SplittableRandom random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        return order;
+    }
+
+    /**
+     * inserts rows 0 to count - 1 in parallel batches
+     *
+     * @param row       creates the i-th row, called within the transaction of its batch
+     * @param id        of an inserted row
+     * @param committed called with every committed batch and the number of its first row
+     * @return ids of the rows by their numbers
+     */
+    private <T> long[] insert(ExecutorService pool, String table, int count, IntFunction<T> row,
+                              ToLongFunction<T> id, ObjIntConsumer<List<T>> committed) {
+        long start = System.nanoTime();
+        long[] ids = new long[count];
+        List<Callable<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < count; from += batchSize) {
+            int first = from;
+            int last = Math.min(count, from + batchSize);
+            batches.add(() -> {
+                List<T> batch = transactionTemplate.execute(status -> {
+                    List<T> rows = new ArrayList<>(last - first);
+                    for (int i = first; i < last; i++) {
+                        T entity = row.apply(i);
+                        entityManager.persist(entity);
+                        rows.add(entity);
+                    }
+                    return rows;
+                });
+                for (int k = 0; k < batch.size(); k++) {
+                    ids[first + k] = id.applyAsLong(batch.get(k));
+                }
+                committed.accept(batch, first);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> batch : pool.invokeAll(batches)) {
+                batch.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating " + table + " failed.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Generating " + table + " was interrupted.", e);
+        }
+        double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+        LOGGER.info("Inserted {} {} in {} ms, {} rows per second.", count, table,
+                Math.round(seconds * 1000), Math.round(count / seconds));
+        return ids;
+    }
+}
@@ -0,0 +1,215 @@
+package cz.muni.fi.pa165.library.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Definition of a dataset generated by {@link DatasetGenerator}.
+ *
+ * Every row is derived from the seed and its number alone, so the same definition
+ * gives the same books, users and loans however the rows are split among threads.
+ * Titles combine an adjective, a noun and sometimes a city, authors a first and a last name,
+ * each picked uniformly, so each of the 50 nouns is part of one in fifty titles
+ * and each of the 50 last names authors one in fifty books.
+ *
+ * Loans are registered at even steps over the history ending at end. The book and the user of a loan
+ * are drawn by their popularity, which follows a Zipf distribution with the skew as exponent
+ * (0 = all equally popular). A loan stays open with the probability openLoans,
+ * otherwise it is returned within 60 days, but not after end.
+ *
+ * @since 18.10.2026
+ */
+public class DatasetSpec {
+
+    private static final String[] ADJECTIVES = {
+            "Silent", "Broken", "Golden", "Hidden", "Last", "Lost", "Burning", "Distant", "Winter", "Crimson",
+            "Quiet", "Wild", "Secret", "Silver", "Hollow", "Endless", "Northern", "Forgotten", "Shattered", "Bright"
+    };
+
+    private static final String[] NOUNS = {
+            "Witcher", "River", "Crown", "Garden", "Mirror", "Storm", "Harbor", "Kingdom", "Letter", "Forest",
+            "Shadow", "Voyage", "Island", "Tower", "Promise", "Orchard", "Lantern", "Empire", "Widow", "Compass",
+            "Meadow", "Bridge", "Sparrow", "Castle", "Daughter", "Witness", "Journey", "Cathedral", "Station", "Valley",
+            "Glacier", "Prophet", "Orphan", "Engine", "Feather", "Harvest", "Labyrinth", "Monsoon", "Nightingale",
+            "Oracle", "Pilgrim", "Quarry", "Refuge", "Sentinel", "Tempest", "Vineyard", "Wanderer", "Alchemist",
+            "Blizzard", "Citadel"
+    };
+
+    private static final String[] CITIES = {
+            "Prague", "Brno", "Vienna", "Lisbon", "Kyoto", "Cairo", "Oslo", "Dublin", "Krakow", "Tallinn",
+            "Seville", "Bruges", "Ghent", "Lyon", "Porto", "Riga", "Bergen", "Turin", "Zagreb", "Venice"
+    };
+
+    private static final String[] FIRST = {
+            "Andrzej", "Anna", "Petr", "Martin", "Katarina", "Jana", "Tomas", "Eva", "Lucie", "Jakub",
+            "Marie", "Pavel", "Virginie", "Romain", "Antoine", "Francis", "Ingrid", "Olaf", "Chiara", "Marco",
+            "Helena", "Viktor", "Sofia", "Daniel", "Ruth", "Samuel", "Irena", "Karel", "Zuzana", "Milan"
+    };
+
+    private static final String[] LAST = {
+            "Sapkowski", "Grimaldi", "Rolland", "Novak", "Svoboda", "Dvorak", "Cerny", "Prochazka", "Kucera", "Vesely",
+            "Horak", "Nemec", "Marek", "Pospisil", "Hajek", "Jelinek", "Kral", "Ruzicka", "Benes", "Fiala",
+            "Sedlacek", "Dolezal", "Zeman", "Kolar", "Navratil", "Cermak", "Vanek", "Urban", "Blaha", "Kriz",
+            "Lindqvist", "Moreau", "Rossi", "Keller", "Brennan", "Okafor", "Tanaka", "Haddad", "Silva", "Kowalski",
+            "Fischer", "Larsen", "Dubois", "Petrov", "Romero", "Jansen", "Byrne", "Novotny", "Varga", "Horvath"
+    };
+
+    private static final long TITLE_STREAM = 1;
+
+    private static final long AUTHOR_STREAM = 2;
+
+    private static final long USER_STREAM = 3;
+
+    private static final long LOAN_STREAM = 4;
+
+    private static final long POPULARITY_STREAM = 5;
+
+    private final int books;
+    private final int users;
+    private final int loans;
+    private final long seed;
+    private final double skew;
+    private final double openLoans;
+    private final Duration history;
+    private final LocalDateTime end;
+    private final String password;
+
+    /**
+     * @param books     number of books
+     * @param users     number of users, none of them a librarian
+     * @param loans     number of loans
+     * @param seed      of all random choices
+     * @param skew      exponent of the popularity of books and users, 0 for uniform
+     * @param openLoans share of loans not returned
+     * @param history   period over which the loans were registered
+     * @param end       end of the history, no loan is registered or returned later
+     * @param password  of all users
+     * @throws IllegalArgumentException if a number is out of range or loans lack books or users
+     */
+    public DatasetSpec(int books, int users, int loans, long seed, double skew, double openLoans,
+                       Duration history, LocalDateTime end, String password) {
+        if (books < 0 || users < 0 || loans < 0 || skew < 0 || openLoans < 0 || openLoans > 1) {
+            throw new IllegalArgumentException("Counts and skew must not be negative, open loans are a share of loans.");
+        }
+        if (loans > 0 && (books == 0 || users == 0)) {
+            throw new IllegalArgumentException("Loans need at least one book and one user.");
+        }
+        if (history.isNegative() || history.isZero()) {
+            throw new IllegalArgumentException("History of loans must be positive.");
+        }
+        this.books = books;
+        this.users = users;
+        this.loans = loans;
+        this.seed = seed;
+        this.skew = skew;
+        this.openLoans = openLoans;
+        this.history = history;
+        this.end = end;
+        this.password = password;
+    }
+
+    /**
+     * loans of the last two years up to today, popularity skewed by 0.8, five percent of loans open
+     */
+    public DatasetSpec(int books, int users, int loans, long seed) {
+        this(books, users, loans, seed, 0.8, 0.05, Duration.ofDays(730), LocalDate.now().atStartOfDay(), "userPass");
+    }
+
+    public int getBooks() {
+        return books;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public int getLoans() {
+        return loans;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public double getSkew() {
+        return skew;
+    }
+
+    public double getOpenLoans() {
+        return openLoans;
+    }
+
+    public Duration getHistory() {
+        return history;
+    }
+
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * @param book number of the book, from 0
+     * @return its title
+     */
+    public String title(int book) {
+        SplittableRandom random = random(TITLE_STREAM, book);
+        String title = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+        return random.nextBoolean() ? title : title + " of " + CITIES[random.nextInt(CITIES.length)];
+    }
+
+    /**
+     * @param book number of the book, from 0
+     * @return its author
+     */
+    public String author(int book) {
+        SplittableRandom random = random(AUTHOR_STREAM, book);
+        return FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+    }
+
+    /**
+     * @param user number of the user, from 0
+     * @return the first and the last name of the user
+     */
+    public String[] name(int user) {
+        SplittableRandom random = random(USER_STREAM, user);
+        return new String[]{FIRST[random.nextInt(FIRST.length)], LAST[random.nextInt(LAST.length)]};
+    }
+
+    /**
+     * @param user number of the user, from 0
+     * @return unique email of the user
+     */
+    public static String email(int user) {
+        return "user" + user + "@mail.com";
+    }
+
+    /**
+     * @return random choices of the loan
+     */
+    SplittableRandom loanRandom(int loan) {
+        return random(LOAN_STREAM, loan);
+    }
+
+    /**
+     * @return random order of popularity, shuffled with the seed
+     */
+    SplittableRandom popularityRandom() {
+        return random(POPULARITY_STREAM, 0);
+    }
+
+    private SplittableRandom random(long stream, long row) {
+        return new SplittableRandom(new SplittableRandom(seed ^ stream * 0x9E3779B97F4A7C15L).nextLong() + row);
+    }
+
+    @Override
+    public String toString() {
+        return "DatasetSpec{books=" + books + ", users=" + users + ", loans=" + loans + ", seed=" + seed
+                + ", skew=" + skew + ", openLoans=" + openLoans + ", history=" + history + ", end=" + end + '}';
+    }
+}
@@ -0,0 +1,143 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import cz.muni.fi.pa165.library.exceptions.RecordingStateException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * One JDK Flight Recorder recording of this node at a time, started, stopped and downloaded on demand.
+ *
+ * Recordings are bounded: they stop by themselves after library.jfr.max-duration at the latest
+ * and keep at most library.jfr.max-size of the newest data. They use the JDK settings named
+ * by library.jfr.settings (default or profile) and include the library's call events.
+ * The last recording is kept, stopped, until the next one is started.
+ *
+ * @since 18.10.2026
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    private final Duration maxDuration;
+
+    private final DataSize maxSize;
+
+    private final Configuration settings;
+
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${library.jfr.max-duration:10m}") Duration maxDuration,
+                                  @Value("${library.jfr.max-size:100MB}") DataSize maxSize,
+                                  @Value("${library.jfr.settings:profile}") String settings) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        try {
+            this.settings = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown flight recorder settings " + settings + ".", e);
+        }
+    }
+
+    /**
+     * starts a recording, the previous one is discarded
+     *
+     * @param duration how long to record, at most library.jfr.max-duration
+     * @return state of the started recording
+     * @throws InvalidArgumentException if duration is not positive
+     * @throws RecordingStateException if a recording is running already
+     */
+    public synchronized Map<String, Object> start(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            throw new InvalidArgumentException("Duration of a recording must be positive.");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("A flight recording is running already.");
+        }
+        close();
+        Recording started = new Recording(settings);
+        started.setName("library");
+        started.setToDisk(true);
+        started.setMaxSize(maxSize.toBytes());
+        started.setDuration(duration.compareTo(maxDuration) < 0 ? duration : maxDuration);
+        started.start();
+        recording = started;
+        LOGGER.info("Flight recording started for {}.", started.getDuration());
+        return getStatus();
+    }
+
+    /**
+     * stops the running recording, its data can still be downloaded
+     *
+     * @return state of the stopped recording
+     * @throws RecordingStateException if no recording is running
+     */
+    public synchronized Map<String, Object> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new RecordingStateException("No flight recording is running.");
+        }
+        recording.stop();
+        LOGGER.info("Flight recording stopped.");
+        return getStatus();
+    }
+
+    /**
+     * @return state, start time, duration and size of the last recording, empty if there has been none
+     */
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording != null) {
+            status.put("state", recording.getState());
+            status.put("startTime", recording.getStartTime());
+            status.put("stopTime", recording.getStopTime());
+            status.put("duration", recording.getDuration());
+            status.put("size", recording.getSize());
+            status.put("maxSize", recording.getMaxSize());
+        }
+        return status;
+    }
+
+    /**
+     * writes the data recorded so far to a new temporary file, a running recording goes on
+     *
+     * @return the file, to be deleted by the caller
+     * @throws NoSuchElementException if there has been no recording
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            throw new NoSuchElementException("No flight recording has been started.");
+        }
+        Path file = Files.createTempFile("library-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
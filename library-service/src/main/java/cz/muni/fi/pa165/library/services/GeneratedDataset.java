@@ -0,0 +1,81 @@
+package cz.muni.fi.pa165.library.services;
+
+import java.time.Duration;
+
+/**
+ * Ids of the rows inserted by {@link DatasetGenerator}, indexed by the row numbers of the {@link DatasetSpec}.
+ *
+ * @since 18.10.2026
+ */
+public class GeneratedDataset {
+
+    private final DatasetSpec spec;
+    private final long[] bookIds;
+    private final long[] userIds;
+    private final long[] loanIds;
+    private final long[] openLoanIds;
+    private final Duration elapsed;
+
+    public GeneratedDataset(DatasetSpec spec, long[] bookIds, long[] userIds, long[] loanIds, long[] openLoanIds,
+                            Duration elapsed) {
+        this.spec = spec;
+        this.bookIds = bookIds;
+        this.userIds = userIds;
+        this.loanIds = loanIds;
+        this.openLoanIds = openLoanIds;
+        this.elapsed = elapsed;
+    }
+
+    public DatasetSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * @return id of the i-th book at index i
+     */
+    public long[] getBookIds() {
+        return bookIds;
+    }
+
+    /**
+     * @return id of the i-th user at index i
+     */
+    public long[] getUserIds() {
+        return userIds;
+    }
+
+    /**
+     * @return id of the i-th loan at index i, so the oldest loans come first
+     */
+    public long[] getLoanIds() {
+        return loanIds;
+    }
+
+    /**
+     * @return ids of the loans not returned, oldest first
+     */
+    public long[] getOpenLoanIds() {
+        return openLoanIds;
+    }
+
+    /**
+     * @return time the generation took
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return books, users and loans inserted
+     */
+    public long getRows() {
+        return (long) bookIds.length + userIds.length + loanIds.length;
+    }
+
+    /**
+     * @return rows inserted per second
+     */
+    public double getRowsPerSecond() {
+        return getRows() * 1e9 / Math.max(1, elapsed.toNanos());
+    }
+}
@@ -0,0 +1,31 @@
+package cz.muni.fi.pa165.library.services;
+
+/**
+ * Outcome of a bulk import.
+ *
+ * @since 18.10.2026
+ */
+public class ImportSummary {
+
+    private final long inserted;
+    private final long skipped;
+
+    public ImportSummary(long inserted, long skipped) {
+        this.inserted = inserted;
+        this.skipped = skipped;
+    }
+
+    /**
+     * @return number of inserted rows
+     */
+    public long getInserted() {
+        return inserted;
+    }
+
+    /**
+     * @return number of rows skipped as duplicates or for missing attributes
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,297 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.entities.BookInventory;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.exceptions.CopiesLentException;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import cz.muni.fi.pa165.library.exceptions.NoCopyAvailableException;
+import cz.muni.fi.pa165.library.repositories.BookInventoryRepository;
+import cz.muni.fi.pa165.library.repositories.BookRepository;
+import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Copies of books on the shelf, lending and returning them.
+ *
+ * Every book has a number of copies and a counter of the available ones (BookInventory).
+ * Lending takes a copy by a conditional UPDATE of the counter, which fails once no copy is left,
+ * so the database never lends more copies than there are, even across instances.
+ * Returning a loan puts the copy back the same way.
+ *
+ * Changes of the counters of one book are serialised by one of library.checkout.lock-stripes
+ * in-process locks, held until the change is committed, and then mirrored in memory,
+ * so availability is answered without touching the database.
+ * The inventory of a book is created when its copies first change, with one copy
+ * (or as many as are lent at that moment), until then it is only computed.
+ * Loans are locked in the database while they are returned or deleted,
+ * so a loan puts its copy back once, even across instances.
+ * The mirror only sees changes made through this instance, an entry found out of date
+ * by a failed update is dropped and read again.
+ *
+ * Methods of this service run their own transactions, they must not be called inside another one.
+ *
+ * @since 18.10.2026
+ */
+@Service
+public class InventoryService {
+
+    @Autowired
+    private BookInventoryRepository bookInventoryRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private SingleLoanRepository singleLoanRepository;
+
+    @Autowired
+    private SingleLoanService singleLoanService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final StripedLocks locks;
+
+    /** Committed inventories by book id, entries are replaced, never modified */
+    private final ConcurrentMap<Long, BookInventory> shelf = new ConcurrentHashMap<>();
+
+    public InventoryService(@Value("${library.checkout.lock-stripes:256}") int stripes) {
+        locks = new StripedLocks(stripes);
+    }
+
+    /**
+     * @param bookId id of the book
+     * @return copies of the book and how many of them are available
+     * @throws NoSuchElementException if there is no such book
+     */
+    public BookInventory getInventory(long bookId) {
+        BookInventory inventory = shelf.get(bookId);
+        if (inventory != null) {
+            return inventory;
+        }
+        Lock lock = locks.get(bookId);
+        lock.lock();
+        try {
+            return find(bookId).orElseGet(() -> initial(bookId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * changes the number of copies of the book, the available ones change by the same number
+     *
+     * @param bookId id of the book
+     * @param copies new number of copies
+     * @return the changed inventory
+     * @throws InvalidArgumentException if copies is negative
+     * @throws CopiesLentException if more than copies copies are lent
+     * @throws NoSuchElementException if there is no such book
+     */
+    public BookInventory setCopies(long bookId, int copies) {
+        if (copies < 0) {
+            throw new InvalidArgumentException("Number of copies can not be negative.");
+        }
+        Lock lock = locks.get(bookId);
+        lock.lock();
+        try {
+            load(bookId);
+            int updated = transactionTemplate.execute(status -> bookInventoryRepository.setCopies(bookId, copies));
+            shelf.remove(bookId);
+            if (updated == 0) {
+                throw new CopiesLentException(bookId, copies);
+            }
+            return load(bookId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * creates the loan if a copy of its book is available
+     *
+     * @param singleLoan new loan of an existing book
+     * @return id of the created loan
+     * @throws IllegalArgumentException if the loan has no book
+     * @throws NoCopyAvailableException if no copy of the book is available
+     * @throws NoSuchElementException if there is no such book
+     */
+    public long borrowBook(SingleLoan singleLoan) {
+        if (singleLoan.getBook() == null) {
+            throw new IllegalArgumentException("Book is null.");
+        }
+        long bookId = singleLoan.getBook().getId();
+        Lock lock = locks.get(bookId);
+        lock.lock();
+        try {
+            load(bookId);
+            long id = transactionTemplate.execute(status -> {
+                if (bookInventoryRepository.takeCopy(bookId) == 0) {
+                    shelf.remove(bookId);
+                    throw new NoCopyAvailableException(bookId);
+                }
+                return singleLoanService.createSingleLoan(singleLoan);
+            });
+            moveCopies(bookId, -1);
+            return id;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * records the return of the loan, the copy is put back on the shelf
+     * unless the loan has been returned already
+     *
+     * @param loanId          id of the loan
+     * @param returnedAt      time of return
+     * @param returnCondition condition of the returned book
+     * @throws InvalidArgumentException if returnedAt is null
+     * @throws NoSuchElementException if there is no such loan
+     */
+    public void returnBook(long loanId, LocalDateTime returnedAt, String returnCondition) {
+        if (returnedAt == null) {
+            throw new InvalidArgumentException("Time of return is null.");
+        }
+        long bookId = findLoan(loanId).getBook().getId();
+        Lock lock = locks.get(bookId);
+        lock.lock();
+        try {
+            int returned = transactionTemplate.execute(status -> {
+                SingleLoan loan = singleLoanService.lockById(loanId).orElseThrow(() -> noSuchLoan(loanId));
+                boolean open = loan.getReturnedAt() == null;
+                singleLoanService.returnBook(loan, returnedAt, returnCondition);
+                return open ? bookInventoryRepository.returnCopy(bookId) : 0;
+            });
+            moveCopies(bookId, returned);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * deletes the loan, the copy is put back on the shelf if the loan has not been returned
+     *
+     * @param loanId id of the loan
+     */
+    public void deleteLoan(long loanId) {
+        SingleLoan loan = singleLoanService.findById(loanId).orElse(null);
+        if (loan == null) {
+            singleLoanService.deleteById(loanId);
+            return;
+        }
+        long bookId = loan.getBook().getId();
+        Lock lock = locks.get(bookId);
+        lock.lock();
+        try {
+            int returned = transactionTemplate.execute(status -> {
+                Optional<SingleLoan> locked = singleLoanService.lockById(loanId);
+                if (!locked.isPresent()) {
+                    // deleted in the meantime
+                    return 0;
+                }
+                boolean open = locked.get().getReturnedAt() == null;
+                singleLoanService.deleteById(loanId);
+                return open ? bookInventoryRepository.returnCopy(bookId) : 0;
+            });
+            moveCopies(bookId, returned);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * deletes the inventory of the book, the book is deleted in the same transaction,
+     * the mirror forgets the inventory once the transaction commits
+     *
+     * @param bookId id of the deleted book
+     */
+    void deleteInventory(long bookId) {
+        bookInventoryRepository.deleteByBookId(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    shelf.remove(bookId);
+                }
+            });
+        } else {
+            shelf.remove(bookId);
+        }
+    }
+
+    private SingleLoan findLoan(long loanId) {
+        return singleLoanService.findById(loanId).orElseThrow(() -> noSuchLoan(loanId));
+    }
+
+    private static NoSuchElementException noSuchLoan(long loanId) {
+        return new NoSuchElementException("No loan with id " + loanId + " has been found.");
+    }
+
+    /*
+     * The following methods must be called with the lock of the book held.
+     */
+
+    private BookInventory load(long bookId) {
+        BookInventory inventory = shelf.get(bookId);
+        if (inventory != null) {
+            return inventory;
+        }
+        try {
+            return find(bookId).orElseGet(() -> {
+                BookInventory created = transactionTemplate.execute(
+                        status -> bookInventoryRepository.save(initial(bookId)));
+                shelf.put(bookId, created);
+                return created;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // created by another instance in the meantime
+            return find(bookId).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * @return the stored inventory of the book, which is mirrored from now on
+     */
+    private Optional<BookInventory> find(long bookId) {
+        Optional<BookInventory> inventory = bookInventoryRepository.findById(bookId);
+        inventory.ifPresent(i -> shelf.put(bookId, i));
+        return inventory;
+    }
+
+    /**
+     * @return inventory of a book which has none stored yet, one copy or as many as are lent
+     */
+    private BookInventory initial(long bookId) {
+        // the book usually comes from the second-level cache
+        if (!bookRepository.findById(bookId).isPresent()) {
+            throw new NoSuchElementException("No book with id " + bookId + " has been found.");
+        }
+        int lent = Math.toIntExact(singleLoanRepository.countByBookIdAndReturnedAtIsNull(bookId));
+        int copies = Math.max(1, lent);
+        return new BookInventory(bookId, copies, copies - lent);
+    }
+
+    private void moveCopies(long bookId, int delta) {
+        if (delta != 0) {
+            shelf.computeIfPresent(bookId, (id, inventory) -> {
+                int available = inventory.getAvailableCopies() + delta;
+                return available < 0 || available > inventory.getCopies()
+                        ? null
+                        : new BookInventory(id, inventory.getCopies(), available);
+            });
+        }
+    }
+}
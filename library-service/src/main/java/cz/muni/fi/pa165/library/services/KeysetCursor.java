@@ -0,0 +1,76 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset paginated listing.
+ *
+ * The cursor remembers the sort attribute, its value and the id of the
+ * last row of a page. Rows of the next page are the ones ordered after
+ * (value, id), so fetching any page costs an index seek no matter how
+ * deep it is. Clients only see the cursor as an opaque string.
+ *
+ * @since 18.10.2026
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final String sort;
+    private final String value;
+    private final long id;
+
+    public KeysetCursor(String sort, String value, long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * @param cursor encoded cursor, may be null for the first page
+     * @param sort sort attribute the cursor must have been issued for
+     * @return decoded cursor or null for the first page
+     * @throws InvalidArgumentException if cursor is malformed or was issued for another sort
+     */
+    public static KeysetCursor decode(String cursor, String sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidArgumentException("Cursor is invalid.", e);
+        }
+        if (parts.length != 3 || !parts[0].equals(sort)) {
+            throw new InvalidArgumentException("Cursor is invalid for sort " + sort + ".");
+        }
+        try {
+            return new KeysetCursor(parts[0], parts[2], Long.parseLong(parts[1]));
+        } catch (NumberFormatException e) {
+            throw new InvalidArgumentException("Cursor is invalid.", e);
+        }
+    }
+
+    /**
+     * @return opaque string representation of the cursor
+     */
+    public String encode() {
+        String raw = sort + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
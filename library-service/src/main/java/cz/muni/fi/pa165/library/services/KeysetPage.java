@@ -0,0 +1,73 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of entities together with the cursor of the following page.
+ *
+ * @param <T> type of the entities
+ * @since 18.10.2026
+ */
+public class KeysetPage<T> {
+
+    /** Upper bound for the number of rows returned on one page */
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Rows are fetched with one extra row, so it is known
+     * whether a next page exists without counting the table.
+     *
+     * @param size requested page size
+     * @return limit for the repository query
+     * @throws InvalidArgumentException if size is out of range
+     */
+    public static Pageable limit(int size) {
+        checkSize(size);
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * @param size requested page size
+     * @throws InvalidArgumentException if size is out of range
+     */
+    public static void checkSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new InvalidArgumentException("Page size must be between 1 and " + MAX_SIZE + ".");
+        }
+    }
+
+    /**
+     * @param rows rows fetched with {@link #limit(int)}
+     * @param size requested page size
+     * @param cursorOf creates the cursor pointing after given row
+     * @param <T> type of the entities
+     * @return page of at most size rows
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new KeysetPage<>(content, cursorOf.apply(content.get(size - 1)).encode());
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
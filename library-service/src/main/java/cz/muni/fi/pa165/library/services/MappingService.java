@@ -4,12 +4,19 @@ import com.github.dozermapper.core.Mapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 /**
+ * Maps entities to DTOs and back.
+ *
+ * Book, User and SingleLoan pairs are mapped by {@link SpecializedMappers},
+ * everything else by Dozer. Setting library.mapping.mode=dozer maps everything by Dozer.
+ *
  * @author Petr Janik 485122
  * @since 12.04.2020
  */
@@ -21,18 +28,25 @@ public class MappingService {
     @Autowired
     private Mapper dozer;
 
+    @Value("${library.mapping.mode:specialized}")
+    private String mode;
+
     public <T> List<T> mapTo(Collection<?> objects, Class<T> mapToClass) {
-        List<T> mappedCollection = new ArrayList<>();
+        List<T> mappedCollection = new ArrayList<>(objects.size());
         for (Object object : objects) {
-            LOGGER.info("Mapping {} to {}.", object, mapToClass);
-            mappedCollection.add(dozer.map(object, mapToClass));
+            mappedCollection.add(mapTo(object, mapToClass));
         }
         return mappedCollection;
     }
 
     public <T> T mapTo(Object object, Class<T> mapToClass) {
-        LOGGER.info("Mapping {} to {}.", object, mapToClass);
+        LOGGER.debug("Mapping {} to {}.", object, mapToClass);
+        if (object != null && !"dozer".equalsIgnoreCase(mode)) {
+            Function<Object, Object> mapper = SpecializedMappers.find(object.getClass(), mapToClass);
+            if (mapper != null) {
+                return mapToClass.cast(mapper.apply(object));
+            }
+        }
         return dozer.map(object, mapToClass);
     }
 }
-
@@ -0,0 +1,291 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.entities.OverdueLoan;
+import cz.muni.fi.pa165.library.entities.OverdueScan;
+import cz.muni.fi.pa165.library.exceptions.ScanRunningException;
+import cz.muni.fi.pa165.library.repositories.OpenLoan;
+import cz.muni.fi.pa165.library.repositories.OverdueScanRepository;
+import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds loans which have not been returned within the loan period (library.overdue.loan-period).
+ *
+ * The scan runs every night (library.overdue.cron) or on demand. It walks open loans in id order,
+ * library.overdue.chunk-size loans at a time, reading only their ids and registration times
+ * over the (returned_at, id) index, so memory use does not depend on the number of loans.
+ * Every chunk is evaluated in parallel on library.overdue.threads threads
+ * while the next chunk is being read.
+ *
+ * Progress is checkpointed in {@link OverdueScan} after every chunk, a scan interrupted
+ * by a restart is resumed on startup from the last checkpoint, judged as of its original time.
+ * The finished scan is the overdue report: counts of overdue loans, the
+ * library.overdue.report-limit most overdue ones, and how long the scan took.
+ *
+ * @since 18.10.2026
+ */
+@Service
+public class OverdueScanService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OverdueScanService.class);
+
+    /** Most overdue first, then by id */
+    static final Comparator<OverdueLoan> MOST_OVERDUE = Comparator
+            .comparingLong(OverdueLoan::getDaysOverdue).reversed()
+            .thenComparingLong(OverdueLoan::getLoanId);
+
+    @Autowired
+    private SingleLoanRepository singleLoanRepository;
+
+    @Autowired
+    private OverdueScanRepository overdueScanRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Duration loanPeriod;
+
+    private final int chunkSize;
+
+    private final int reportLimit;
+
+    private final ForkJoinPool pool;
+
+    private final Clock clock;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Autowired
+    public OverdueScanService(@Value("${library.overdue.loan-period:30d}") Duration loanPeriod,
+                              @Value("${library.overdue.chunk-size:1000}") int chunkSize,
+                              @Value("${library.overdue.report-limit:100}") int reportLimit,
+                              @Value("${library.overdue.threads:0}") int threads) {
+        this(loanPeriod, chunkSize, reportLimit, threads, Clock.systemDefaultZone());
+    }
+
+    OverdueScanService(Duration loanPeriod, int chunkSize, int reportLimit, int threads, Clock clock) {
+        if (chunkSize < 1 || reportLimit < 0) {
+            throw new IllegalArgumentException("Chunk size must be positive and report limit not negative.");
+        }
+        this.loanPeriod = loanPeriod;
+        this.chunkSize = chunkSize;
+        this.reportLimit = reportLimit;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * the nightly scan, skipped if a scan is running already
+     */
+    @Scheduled(cron = "${library.overdue.cron:0 0 2 * * *}")
+    public void scheduledScan() {
+        try {
+            scan();
+        } catch (ScanRunningException e) {
+            LOGGER.warn("Scheduled overdue loan scan skipped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * resumes a scan interrupted by the previous shutdown in the background
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedScan() {
+        if (overdueScanRepository.findFirstByFinishedAtIsNullOrderByIdDesc().isPresent()) {
+            Thread resume = new Thread(this::scheduledScan, "overdue-scan-resume");
+            resume.setDaemon(true);
+            resume.start();
+        }
+    }
+
+    /**
+     * scans all open loans, or resumes the unfinished scan
+     *
+     * @return the finished scan
+     * @throws ScanRunningException if a scan is running already
+     */
+    public OverdueScan scan() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ScanRunningException();
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return the latest finished scan, its overdue loans are loaded
+     */
+    public Optional<OverdueScan> getLastReport() {
+        return transactionTemplate.execute(status -> overdueScanRepository.findFirstByFinishedAtIsNotNullOrderByIdDesc()
+                .map(OverdueScanService::initialize));
+    }
+
+    private OverdueScan run() {
+        OverdueScan scan = transactionTemplate.execute(status -> overdueScanRepository.findFirstByFinishedAtIsNullOrderByIdDesc()
+                .map(OverdueScanService::initialize)
+                .orElseGet(() -> new OverdueScan(LocalDateTime.now(clock))));
+        if (scan.getLastLoanId() > 0) {
+            LOGGER.info("Resuming overdue loan scan {} after loan {}.", scan.getId(), scan.getLastLoanId());
+        }
+        LocalDateTime dueBefore = scan.getAsOf().minus(loanPeriod);
+        Tally tally = Tally.of(scan, reportLimit);
+        long durationBefore = scan.getDurationMillis();
+        long scannedBefore = scan.getScanned();
+        long start = System.nanoTime();
+
+        List<OpenLoan> chunk = fetch(scan.getLastLoanId());
+        while (!chunk.isEmpty()) {
+            List<OpenLoan> evaluated = chunk;
+            ForkJoinTask<Tally> evaluation = pool.submit(() -> evaluated.parallelStream().collect(
+                    () -> new Tally(reportLimit),
+                    (t, loan) -> t.add(loan, dueBefore),
+                    Tally::merge));
+            long lastLoanId = chunk.get(chunk.size() - 1).getId();
+            chunk = chunk.size() < chunkSize ? Collections.emptyList() : fetch(lastLoanId);
+
+            tally.merge(evaluation.join());
+            tally.writeTo(scan);
+            scan.setLastLoanId(lastLoanId);
+            scan.setDurationMillis(durationBefore + (System.nanoTime() - start) / 1_000_000);
+            save(scan);
+        }
+
+        scan.setFinishedAt(LocalDateTime.now(clock));
+        scan.setDurationMillis(durationBefore + (System.nanoTime() - start) / 1_000_000);
+        OverdueScan finished = save(scan);
+        LOGGER.info("Overdue loan scan {} finished: {} open loans, {} overdue, {} loans scanned in {} ms.",
+                finished.getId(), finished.getScanned(), finished.getOverdue(),
+                finished.getScanned() - scannedBefore, finished.getDurationMillis() - durationBefore);
+        return finished;
+    }
+
+    private List<OpenLoan> fetch(long afterId) {
+        return singleLoanRepository.findOpenLoanRowsAfter(afterId, PageRequest.of(0, chunkSize));
+    }
+
+    private OverdueScan save(OverdueScan scan) {
+        return transactionTemplate.execute(status -> initialize(overdueScanRepository.save(scan)));
+    }
+
+    private static OverdueScan initialize(OverdueScan scan) {
+        Hibernate.initialize(scan.getLongestOverdue());
+        return scan;
+    }
+
+    /**
+     * Counts of one part of a scan, merged into the counts of the whole scan.
+     */
+    static final class Tally {
+
+        private final int limit;
+
+        private long scanned;
+
+        private long overdue;
+
+        private long overdueWeek;
+
+        private long overdueMonth;
+
+        private long overdueLonger;
+
+        /** The limit most overdue loans, the least overdue of them on top */
+        private final PriorityQueue<OverdueLoan> longest;
+
+        Tally(int limit) {
+            this.limit = limit;
+            this.longest = new PriorityQueue<>(MOST_OVERDUE.reversed());
+        }
+
+        static Tally of(OverdueScan scan, int limit) {
+            Tally tally = new Tally(limit);
+            tally.scanned = scan.getScanned();
+            tally.overdue = scan.getOverdue();
+            tally.overdueWeek = scan.getOverdueWeek();
+            tally.overdueMonth = scan.getOverdueMonth();
+            tally.overdueLonger = scan.getOverdueLonger();
+            scan.getLongestOverdue().forEach(tally::offer);
+            return tally;
+        }
+
+        void add(OpenLoan loan, LocalDateTime dueBefore) {
+            scanned++;
+            if (!loan.getRegisteredAt().isBefore(dueBefore)) {
+                return;
+            }
+            long days = Duration.between(loan.getRegisteredAt(), dueBefore).toDays();
+            overdue++;
+            if (days < 7) {
+                overdueWeek++;
+            } else if (days < 30) {
+                overdueMonth++;
+            } else {
+                overdueLonger++;
+            }
+            offer(new OverdueLoan(loan.getId(), loan.getBookId(), loan.getUserId(), days));
+        }
+
+        Tally merge(Tally other) {
+            scanned += other.scanned;
+            overdue += other.overdue;
+            overdueWeek += other.overdueWeek;
+            overdueMonth += other.overdueMonth;
+            overdueLonger += other.overdueLonger;
+            other.longest.forEach(this::offer);
+            return this;
+        }
+
+        void writeTo(OverdueScan scan) {
+            scan.setScanned(scanned);
+            scan.setOverdue(overdue);
+            scan.setOverdueWeek(overdueWeek);
+            scan.setOverdueMonth(overdueMonth);
+            scan.setOverdueLonger(overdueLonger);
+            List<OverdueLoan> sorted = new ArrayList<>(longest);
+            sorted.sort(MOST_OVERDUE);
+            scan.getLongestOverdue().clear();
+            scan.getLongestOverdue().addAll(sorted);
+        }
+
+        private void offer(OverdueLoan loan) {
+            if (limit == 0) {
+                return;
+            }
+            longest.add(loan);
+            if (longest.size() > limit) {
+                longest.poll();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package cz.muni.fi.pa165.library.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes passwords with BCrypt.
+ *
+ * Asynchronous hashing runs on a dedicated pool of library.hashing.threads threads
+ * (number of processors by default) with at most library.hashing.queue-capacity waiting passwords.
+ * When the queue is full new passwords are rejected instead of queueing without bound,
+ * so a registration spike can not hold web threads or exhaust memory.
+ *
+ * @since 18.10.2026
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final PasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(
+            @Value("${library.hashing.threads:0}") int threads,
+            @Value("${library.hashing.queue-capacity:256}") int queueCapacity) {
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Hashing queue capacity has to be positive.");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        LOGGER.info("Hashing passwords on {} threads, at most {} waiting.", threads, queueCapacity);
+    }
+
+    /**
+     * hashes the password on the calling thread
+     *
+     * @param password raw password
+     * @return BCrypt hash of the password
+     */
+    public String hash(String password) {
+        return encoder.encode(password);
+    }
+
+    /**
+     * hashes the password on the hashing pool
+     *
+     * @param password raw password
+     * @return future hash, completed exceptionally with RejectedExecutionException if the pool is saturated
+     */
+    public CompletableFuture<String> hashAsync(String password) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.encode(password), executor);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Password hashing queue is full, rejecting.");
+            CompletableFuture<String> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(e);
+            return rejected;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,15 +1,24 @@
 package cz.muni.fi.pa165.library.services;
 
-import cz.muni.fi.pa165.library.entities.Book;
 import cz.muni.fi.pa165.library.entities.SingleLoan;
-import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
 import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityNotFoundException;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /** @author Martin Páleník 359817
  *  based on http://zetcode.com/springboot/crudrepository/
@@ -21,9 +30,18 @@ import java.util.Optional;
 @Service
 public class SingleLoanService {
 
+    /** Number of exported loans after which the persistence context is cleared */
+    static final int EXPORT_CHUNK_SIZE = 500;
+
     @Autowired
     private SingleLoanRepository singleLoanRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
     /**
      * Returns loan if exists, search also loans
      * where the book has been already returned.
@@ -44,6 +62,62 @@ public class SingleLoanService {
         return singleLoanRepository.findAll();
     }
 
+    /**
+     * Returns one page of loans (including past loans)
+     * ordered by the given attribute and id.
+     *
+     * @param sort attribute to sort by, one of id, registeredAt
+     * @param cursor cursor of the previous page, null for the first page
+     * @param size number of loans on the page
+     * @return page of loans with fetched book and user
+     * @throws InvalidArgumentException if sort, cursor or size is invalid
+     */
+    public KeysetPage<SingleLoan> findPage(String sort, String cursor, int size) {
+        if (sort == null) {
+            throw new InvalidArgumentException("Sort is null.");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Pageable limit = KeysetPage.limit(size);
+        switch (sort) {
+            case "id":
+                return KeysetPage.of(
+                        singleLoanRepository.findByIdAfter(after == null ? 0 : after.getId(), limit),
+                        size, l -> new KeysetCursor(sort, "", l.getId()));
+            case "registeredAt":
+                return KeysetPage.of(
+                        after == null
+                                ? singleLoanRepository.findAllOrderedByRegisteredAt(limit)
+                                : singleLoanRepository.findByRegisteredAtAfter(parseDateTime(after.getValue()), after.getId(), limit),
+                        size, l -> new KeysetCursor(sort, l.getRegisteredAt().toString(), l.getId()));
+            default:
+                throw new InvalidArgumentException("Can not sort loans by " + sort + ".");
+        }
+    }
+
+    /**
+     * Passes all loans (including past loans) one by one to the sink.
+     * Loans are read from a database cursor and the persistence context
+     * is cleared every {@link #EXPORT_CHUNK_SIZE} loans, so memory use
+     * does not grow with the size of the loan history.
+     * Must be called inside a (read-only) transaction.
+     *
+     * @param sink consumer of the loans, must not keep references to them
+     * @return number of exported loans
+     */
+    public long exportAll(Consumer<SingleLoan> sink) {
+        long count = 0;
+        try (Stream<SingleLoan> loans = singleLoanRepository.streamAll()) {
+            Iterator<SingleLoan> iterator = loans.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                if (++count % EXPORT_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Returns number of loans (including past loans)
      * that has ever been entered in the system.
@@ -55,11 +129,34 @@ public class SingleLoanService {
     }
 
     // Modelled according to cz.muni.fi.pa165.library.services.BookService.createBook
-    public long createSingleLoan(SingleLoan singleLoan){
+    // loans are created by InventoryService only, which takes a copy of the book first
+    long createSingleLoan(SingleLoan singleLoan){
         singleLoan = singleLoanRepository.save(singleLoan);
+        aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.LOANS);
         return singleLoan.getId();
     }
 
+    /**
+     * Reads the loan from the database again and locks its row until the end of the transaction,
+     * so concurrent returns and deletes of the loan see each other's changes.
+     * Must be called inside a transaction.
+     * @param loanId id of the loan
+     * @return the locked loan, empty if there is no such loan
+     */
+    Optional<SingleLoan> lockById(long loanId) {
+        SingleLoan loan = entityManager.find(SingleLoan.class, loanId);
+        if (loan == null) {
+            return Optional.empty();
+        }
+        try {
+            entityManager.refresh(loan, LockModeType.PESSIMISTIC_WRITE);
+        } catch (EntityNotFoundException e) {
+            // deleted in the meantime
+            return Optional.empty();
+        }
+        return Optional.of(loan);
+    }
+
     /**
      * Deletes a specific SingleLoan with the given "id"
      * @param loanId is ID of SingleLoan we are looking for
@@ -67,45 +164,72 @@ public class SingleLoanService {
      */
     public void deleteById(long loanId) {
         singleLoanRepository.deleteById(loanId);
+        aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.LOANS);
     }
 
     /** The following services are required by the assignment */
 
     /**
-     * For the given user return all his loans (current or past).
+     * For the given user return his loans (current or past), one page at a time.
      * Answers "what a member borrowed and when".
-     * @return list of loans for the given user
+     * @param userId id of the user
+     * @param page zero-based page index
+     * @param size number of loans on a page
+     * @return list of loans for the given user ordered by id
+     * @throws InvalidArgumentException if page or size is out of range
      */
-    public List<SingleLoan> getLoansForUser(User user) {
-
-        List<SingleLoan> usersLoans = new ArrayList<>();
-
-        for (SingleLoan singleLoan : singleLoanRepository.findAll()){
-            if (singleLoan.getUser().equals(user)) {
-                usersLoans.add(singleLoan);
-            }
-        }
-
-        return usersLoans;
+    public List<SingleLoan> getLoansForUser(long userId, int page, int size) {
+        return singleLoanRepository.findByUserId(userId, pageRequest(page, size));
     }
 
     /**
-     * For the given book return all its loans (current or past).
+     * For the given book return its loans (current or past), one page at a time.
      * Answers "who borrowed a certain book".
      * Answers "what condition they returned the book in".
-     * @return list of loans for the given book
+     * @param bookId id of the book
+     * @param page zero-based page index
+     * @param size number of loans on a page
+     * @return list of loans for the given book ordered by id
+     * @throws InvalidArgumentException if page or size is out of range
      */
-    public List<SingleLoan> getLoansForBook(Book book) {
+    public List<SingleLoan> getLoansForBook(long bookId, int page, int size) {
+        return singleLoanRepository.findByBookId(bookId, pageRequest(page, size));
+    }
 
-        List<SingleLoan> bookLoans = new ArrayList<>();
+    /**
+     * For the given user return the loans which have not been returned yet.
+     * Answers "what a member has at home right now".
+     * @param userId id of the user
+     * @return open loans of the user ordered by id
+     */
+    public List<SingleLoan> getOpenLoansForUser(long userId) {
+        return singleLoanRepository.findOpenByUserId(userId);
+    }
 
-        for (SingleLoan singleLoan : singleLoanRepository.findAll()){
-            if (singleLoan.getBook().equals(book)) {
-                bookLoans.add(singleLoan);
-            }
-        }
+    /**
+     * For the given book return its loans which have not been returned yet,
+     * there is at most one for every copy of the book.
+     * Answers "who has a certain book right now".
+     * @param bookId id of the book
+     * @return open loans of the book ordered by id
+     */
+    public List<SingleLoan> getOpenLoansForBook(long bookId) {
+        return singleLoanRepository.findOpenByBookId(bookId);
+    }
 
-        return bookLoans;
+    /**
+     * Returns one page of loans which have not been returned yet, ordered by id.
+     *
+     * @param cursor cursor of the previous page, null for the first page
+     * @param size number of loans on the page
+     * @return page of open loans with fetched book and user
+     * @throws InvalidArgumentException if cursor or size is invalid
+     */
+    public KeysetPage<SingleLoan> findOpenPage(String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor, "id");
+        return KeysetPage.of(
+                singleLoanRepository.findOpenByIdAfter(after == null ? 0 : after.getId(), KeysetPage.limit(size)),
+                size, l -> new KeysetCursor("id", "", l.getId()));
     }
 
     /**
@@ -120,5 +244,22 @@ public class SingleLoanService {
     public void returnBook(SingleLoan singleLoan, LocalDateTime returnedAt, String returnCondition){
         singleLoan.setReturnedAt(returnedAt);
         singleLoan.setReturnCondition(returnCondition);
+        aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.LOANS);
+    }
+
+    private static Pageable pageRequest(int page, int size) {
+        if (page < 0) {
+            throw new InvalidArgumentException("Page can not be less than 0.");
+        }
+        KeysetPage.checkSize(size);
+        return PageRequest.of(page, size, Sort.by("id"));
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidArgumentException("Cursor is invalid.", e);
+        }
     }
 }
\ No newline at end of file
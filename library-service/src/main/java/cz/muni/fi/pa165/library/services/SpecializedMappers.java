@@ -0,0 +1,126 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
+import cz.muni.fi.pa165.library.dto.UserDTO;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Hand written mappers between the entities and their DTOs.
+ *
+ * They copy exactly the properties Dozer maps for these pairs,
+ * but with plain getter and setter calls instead of reflection.
+ * Pairs without a mapper here are left to Dozer by {@link MappingService}.
+ *
+ * @since 18.10.2026
+ */
+final class SpecializedMappers {
+
+    private static final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> MAPPERS = new HashMap<>();
+
+    static {
+        register(Book.class, BookDTO.class, SpecializedMappers::toBookDTO);
+        register(BookDTO.class, Book.class, SpecializedMappers::toBook);
+        register(User.class, UserDTO.class, SpecializedMappers::toUserDTO);
+        register(UserDTO.class, User.class, SpecializedMappers::toUser);
+        register(SingleLoan.class, SingleLoanDTO.class, SpecializedMappers::toSingleLoanDTO);
+        register(SingleLoanDTO.class, SingleLoan.class, SpecializedMappers::toSingleLoan);
+    }
+
+    private SpecializedMappers() {
+    }
+
+    /**
+     * finds the mapper for the given classes,
+     * superclasses of the source are tried as well so that Hibernate proxies are covered
+     *
+     * @param source class of the mapped object
+     * @param target class to map to
+     * @return mapper or null if there is none for this pair
+     */
+    static Function<Object, Object> find(Class<?> source, Class<?> target) {
+        for (Class<?> type = source; type != null; type = type.getSuperclass()) {
+            Map<Class<?>, Function<Object, Object>> targets = MAPPERS.get(type);
+            if (targets != null) {
+                return targets.get(target);
+            }
+        }
+        return null;
+    }
+
+    private static <S, T> void register(Class<S> source, Class<T> target, Function<S, T> mapper) {
+        MAPPERS.computeIfAbsent(source, type -> new HashMap<>())
+                .put(target, object -> mapper.apply(source.cast(object)));
+    }
+
+    static BookDTO toBookDTO(Book book) {
+        if (book == null) {
+            return null;
+        }
+        return new BookDTO(book.getId(), book.getTitle(), book.getAuthor());
+    }
+
+    static Book toBook(BookDTO bookDTO) {
+        if (bookDTO == null) {
+            return null;
+        }
+        Book book = new Book(bookDTO.getTitle(), bookDTO.getAuthor());
+        book.setId(bookDTO.getId());
+        return book;
+    }
+
+    static UserDTO toUserDTO(User user) {
+        if (user == null) {
+            return null;
+        }
+        return new UserDTO(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getPasswordHash(), user.isLibrarian());
+    }
+
+    static User toUser(UserDTO userDTO) {
+        if (userDTO == null) {
+            return null;
+        }
+        User user = new User();
+        user.setId(userDTO.getId());
+        user.setFirstName(userDTO.getFirstName());
+        user.setLastName(userDTO.getLastName());
+        user.setEmail(userDTO.getEmail());
+        user.setPasswordHash(userDTO.getPasswordHash());
+        user.setLibrarian(userDTO.isLibrarian());
+        return user;
+    }
+
+    static SingleLoanDTO toSingleLoanDTO(SingleLoan singleLoan) {
+        if (singleLoan == null) {
+            return null;
+        }
+        SingleLoanDTO singleLoanDTO = new SingleLoanDTO();
+        singleLoanDTO.setId(singleLoan.getId());
+        singleLoanDTO.setBook(toBookDTO(singleLoan.getBook()));
+        singleLoanDTO.setUser(toUserDTO(singleLoan.getUser()));
+        singleLoanDTO.setRegisteredAt(singleLoan.getRegisteredAt());
+        singleLoanDTO.setReturnedAt(singleLoan.getReturnedAt());
+        singleLoanDTO.setReturnCondition(singleLoan.getReturnCondition());
+        return singleLoanDTO;
+    }
+
+    static SingleLoan toSingleLoan(SingleLoanDTO singleLoanDTO) {
+        if (singleLoanDTO == null) {
+            return null;
+        }
+        SingleLoan singleLoan = new SingleLoan();
+        singleLoan.setId(singleLoanDTO.getId());
+        singleLoan.setBook(toBook(singleLoanDTO.getBook()));
+        singleLoan.setUser(toUser(singleLoanDTO.getUser()));
+        singleLoan.setRegisteredAt(singleLoanDTO.getRegisteredAt());
+        singleLoan.setReturnedAt(singleLoanDTO.getReturnedAt());
+        singleLoan.setReturnCondition(singleLoanDTO.getReturnCondition());
+        return singleLoan;
+    }
+}
@@ -0,0 +1,57 @@
+package cz.muni.fi.pa165.library.services;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed number of locks shared by an unbounded number of keys.
+ *
+ * Every key maps to one of the stripes, so two operations on the same key
+ * are always serialised while operations on different keys only wait for
+ * each other when their keys happen to share a stripe.
+ * Memory does not grow with the number of keys.
+ *
+ * @since 18.10.2026
+ */
+public class StripedLocks {
+
+    private final Lock[] stripes;
+
+    private final int mask;
+
+    /**
+     * @param stripes requested number of locks, rounded up to a power of two
+     * @throws IllegalArgumentException if stripes is not between 1 and 2^30
+     */
+    public StripedLocks(int stripes) {
+        if (stripes <= 0 || stripes > 1 << 30) {
+            throw new IllegalArgumentException("Number of lock stripes has to be between 1 and 2^30.");
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param key for example id of an entity
+     * @return lock guarding the key
+     */
+    public Lock get(long key) {
+        return stripes[spread(key) & mask];
+    }
+
+    /**
+     * @return number of locks
+     */
+    public int size() {
+        return stripes.length;
+    }
+
+    private static int spread(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ h >>> 32);
+    }
+}
@@ -0,0 +1,172 @@
+package cz.muni.fi.pa165.library.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over one text attribute of an entity.
+ *
+ * Every indexed text is split into overlapping three character sequences,
+ * each of them pointing to the ids of the entities containing it.
+ * A substring query resolves to the intersection of the posting lists
+ * of its own trigrams, which is then verified with {@link String#contains},
+ * so the results are exactly the ones a full scan would return.
+ * Queries shorter than three characters are answered by scanning the
+ * indexed texts held in memory.
+ *
+ * The index is thread safe.
+ *
+ * @since 18.10.2026
+ */
+public class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+
+    private final Map<Long, String> texts = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * indexes text of the entity, replacing the previously indexed text if any
+     *
+     * @param id   of the entity
+     * @param text to index
+     */
+    public void add(long id, String text) {
+        if (text == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            texts.put(id, text);
+            for (long gram : trigrams(text)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * removes the entity from the index, does nothing if it is not indexed
+     *
+     * @param id of the entity
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * removes all entities from the index
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            texts.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed entities
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * finds all entities whose text contains the query
+     *
+     * @param query substring to look for
+     * @return ids of matching entities in ascending order
+     */
+    public List<Long> search(String query) {
+        lock.readLock().lock();
+        try {
+            List<Long> result = new ArrayList<>();
+            if (query.length() < GRAM_LENGTH) {
+                for (Map.Entry<Long, String> entry : texts.entrySet()) {
+                    if (entry.getValue().contains(query)) {
+                        result.add(entry.getKey());
+                    }
+                }
+            } else {
+                for (long id : candidates(query)) {
+                    if (texts.get(id).contains(query)) {
+                        result.add(id);
+                    }
+                }
+            }
+            Collections.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<Long> candidates(String query) {
+        List<Set<Long>> lists = new ArrayList<>();
+        for (long gram : trigrams(query)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(lists.get(i));
+        }
+        return candidates;
+    }
+
+    private void removeUnlocked(long id) {
+        String text = texts.remove(id);
+        if (text == null) {
+            return;
+        }
+        for (long gram : trigrams(text)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,26 @@
+package cz.muni.fi.pa165.library.services;
+
+/**
+ * Published by {@link UserService} when a user is added, deleted or his role changes,
+ * so that anything derived from the user outside the database (e.g. cached credentials) can be dropped.
+ *
+ * @since 18.10.2026
+ */
+public class UserChangedEvent {
+
+    private final long id;
+    private final String email;
+
+    public UserChangedEvent(long id, String email) {
+        this.id = id;
+        this.email = email;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
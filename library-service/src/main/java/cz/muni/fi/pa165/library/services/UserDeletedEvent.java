@@ -0,0 +1,14 @@
+package cz.muni.fi.pa165.library.services;
+
+/**
+ * Published by {@link UserService} when a user is deleted,
+ * so that anything held for the user outside the database (e.g. issued tokens) can be dropped.
+ *
+ * @since 18.10.2026
+ */
+public class UserDeletedEvent extends UserChangedEvent {
+
+    public UserDeletedEvent(long id, String email) {
+        super(id, email);
+    }
+}
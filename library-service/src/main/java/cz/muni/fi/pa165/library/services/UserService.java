@@ -1,14 +1,18 @@
 package cz.muni.fi.pa165.library.services;
 
 import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
 import cz.muni.fi.pa165.library.repositories.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * service layer class for User
@@ -24,6 +28,18 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AggregateVersions aggregateVersions;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(UserService.class);
 
     /**
@@ -48,17 +64,11 @@ public class UserService {
      * @throws IllegalArgumentException if firstName is illegal argument
      */
     public List<User> findByFirstName(String firstName) {
-        List<User> foundUsers = new ArrayList<>();
         if (firstName == null || firstName.isEmpty()) {
             throw new IllegalArgumentException("FirstName is empty or null.");
         }
 
-        for (User user : findAll()) {
-            if (user.getFirstName().equals(firstName)) {
-                foundUsers.add(user);
-            }
-        }
-        return foundUsers;
+        return userRepository.findByFirstName(firstName);
     }
 
     /**
@@ -69,17 +79,11 @@ public class UserService {
      * @throws IllegalArgumentException if lastName is illegal argument
      */
     public List<User> findByLastName(String lastName) {
-        List<User> foundUsers = new ArrayList<>();
         if (lastName == null || lastName.isEmpty()) {
             throw new IllegalArgumentException("LastName is empty or null.");
         }
 
-        for (User user : findAll()) {
-            if (user.getLastName().equals(lastName)) {
-                foundUsers.add(user);
-            }
-        }
-        return foundUsers;
+        return userRepository.findByLastName(lastName);
     }
 
     /**
@@ -94,12 +98,7 @@ public class UserService {
             throw new IllegalArgumentException("Email is empty or null.");
         }
 
-        for (User user : findAll()) {
-            if (user.getEmail().equals(email)) {
-                return user;
-            }
-        }
-        return null;
+        return userRepository.findByEmail(email).orElse(null);
     }
 
     /**
@@ -109,28 +108,107 @@ public class UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * returns one page of users ordered by the given attribute and id
+     *
+     * @param sort   attribute to sort by, one of id, lastName
+     * @param cursor cursor of the previous page, null for the first page
+     * @param size   number of users on the page
+     * @return page of users
+     * @throws InvalidArgumentException if sort, cursor or size is invalid
+     */
+    public KeysetPage<User> findPage(String sort, String cursor, int size) {
+        if (sort == null) {
+            throw new InvalidArgumentException("Sort is null.");
+        }
+        KeysetCursor after = KeysetCursor.decode(cursor, sort);
+        Pageable limit = KeysetPage.limit(size);
+        switch (sort) {
+            case "id":
+                return KeysetPage.of(
+                        userRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0 : after.getId(), limit),
+                        size, u -> new KeysetCursor(sort, "", u.getId()));
+            case "lastName":
+                return KeysetPage.of(
+                        after == null
+                                ? userRepository.findAllByOrderByLastNameAscIdAsc(limit)
+                                : userRepository.findByLastNameAfter(after.getValue(), after.getId(), limit),
+                        size, u -> new KeysetCursor(sort, u.getLastName(), u.getId()));
+            default:
+                throw new InvalidArgumentException("Can not sort users by " + sort + ".");
+        }
+    }
+
     /**
      *
      * @return list of all librarians
      */
     public List<User> findAllLibrarians() {
-        List<User> librarians = new ArrayList<>();
-        for (User user: findAll()) {
-            if (user.isLibrarian()) {
-                librarians.add(user);
-            }
-        }
-        return librarians;
+        return userRepository.findByIsLibrarianTrue();
     }
 
     /**
-     * method adds user
+     * method adds user and publishes {@link UserChangedEvent}
      *
      * @param user
      * @return id of user
      * @throws IllegalArgumentException if user is null or has illegal attributes
      */
     public long addUser(User user, String password) {
+        checkNewUser(user, password);
+        user.setPasswordHash(passwordHashingService.hash(password));
+        userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+        aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.USERS);
+        LOGGER.info("User was added.");
+        return user.getId();
+    }
+
+    /**
+     * method adds user, the password is hashed on the hashing pool
+     * and the user is saved in a new transaction once it is hashed
+     *
+     * @param user     to add
+     * @param password raw password of the user
+     * @return future id of user, completed exceptionally with RejectedExecutionException
+     * if too many passwords are waiting to be hashed
+     * @throws IllegalArgumentException if user is null or has illegal attributes
+     */
+    public CompletableFuture<Long> addUserAsync(User user, String password) {
+        checkNewUser(user, password);
+        return passwordHashingService.hashAsync(password).thenApply(hash -> {
+            user.setPasswordHash(hash);
+            transactionTemplate.execute(status -> {
+                userRepository.save(user);
+                eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+                aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.USERS);
+                return null;
+            });
+            LOGGER.info("User was added.");
+            return user.getId();
+        });
+    }
+
+    /**
+     * method grants or revokes the librarian role and publishes {@link UserChangedEvent}
+     *
+     * @param id        of user
+     * @param librarian whether the user should be a librarian
+     * @throws IllegalArgumentException if ID is less than 0
+     * @throws java.util.NoSuchElementException if there is no user with the ID
+     */
+    public void setLibrarian(long id, boolean librarian) {
+        User user = findById(id);
+        if (user.isLibrarian() != librarian) {
+            user.setLibrarian(librarian);
+            userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(id, user.getEmail()));
+            aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.USERS);
+            LOGGER.info("Librarian role of user changed.");
+        }
+    }
+
+    private void checkNewUser(User user, String password) {
         if (user == null) {
             throw new IllegalArgumentException("Can not add non-existing user.");
         }
@@ -141,19 +219,13 @@ public class UserService {
                 || user.getEmail() == null) {
             throw new IllegalArgumentException("User we adding has null attribute.");
         }
-        for (User u : findAll()) {
-            if (u.getEmail().equals(user.getEmail())) {
-                throw new IllegalArgumentException("Email is already used by another user.");
-            }
+        if (userRepository.existsByEmail(user.getEmail())) {
+            throw new IllegalArgumentException("Email is already used by another user.");
         }
-        user.setPasswordHash(new BCryptPasswordEncoder().encode(password));
-        userRepository.save(user);
-        LOGGER.info("User was added.");
-        return user.getId();
     }
 
     /**
-     * method deletes user by id
+     * method deletes user by id and publishes {@link UserDeletedEvent}
      *
      * @param id of user
      * @throws IllegalArgumentException if ID is less than 0
@@ -162,8 +234,11 @@ public class UserService {
         if (id < 0) {
             throw new IllegalArgumentException("Id can not be less than 0.");
         }
-        if (userRepository.existsById(id)) {
-            userRepository.deleteById(id);
+        Optional<User> user = userRepository.findById(id);
+        if (user.isPresent()) {
+            userRepository.delete(user.get());
+            eventPublisher.publishEvent(new UserDeletedEvent(id, user.get().getEmail()));
+            aggregateVersions.bumpAfterCommit(AggregateVersions.Aggregate.USERS);
             LOGGER.info("User deleted.");
         } else {
             LOGGER.warn("Trying to delete non-existing user.");
@@ -0,0 +1,54 @@
+package cz.muni.fi.pa165.library.services;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution of ranks 0 to n - 1: rank k is drawn with probability proportional to 1 / (k + 1)^exponent.
+ *
+ * Exponent 0 draws all ranks equally often, the larger the exponent the more the first ranks dominate.
+ * Ranks are drawn by a binary search of the cumulative distribution, which takes n doubles.
+ *
+ * @since 18.10.2026
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * @throws IllegalArgumentException if n is not positive or the exponent is negative
+     */
+    ZipfDistribution(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("Zipf distribution needs a rank and a non-negative exponent.");
+        }
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += Math.pow(k + 1, -exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int size() {
+        return cumulative.length;
+    }
+
+    /**
+     * @return probability of the rank
+     */
+    double probability(int rank) {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    /**
+     * @return a rank, 0 is the most probable one
+     */
+    int sample(SplittableRandom random) {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(rank >= 0 ? rank : -rank - 1, cumulative.length - 1);
+    }
+}
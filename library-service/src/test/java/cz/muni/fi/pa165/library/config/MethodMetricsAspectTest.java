@@ -0,0 +1,154 @@
+package cz.muni.fi.pa165.library.config;
+
+import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.facade.BookFacade;
+import cz.muni.fi.pa165.library.repositories.BookRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * @since 18.10.2026
+ */
+public class MethodMetricsAspectTest {
+
+    private SimpleMeterRegistry registry;
+
+    private BookFacade bookFacade;
+
+    private BookRepository bookRepository;
+
+    private final BookFacade bookFacadeMock = Mockito.mock(BookFacade.class);
+
+    private final BookRepository bookRepositoryMock = Mockito.mock(BookRepository.class);
+
+    @Before
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        MethodMetricsAspect aspect = new MethodMetricsAspect(registry);
+        bookFacade = proxy(bookFacadeMock, aspect);
+        bookRepository = proxy(bookRepositoryMock, aspect);
+    }
+
+    @Test
+    public void testFacadeCallsAreTimed() {
+        Mockito.when(
+                bookFacadeMock.findAllBooks()
+        ).thenReturn(Arrays.asList(new BookDTO(), new BookDTO(), new BookDTO()));
+
+        bookFacade.findAllBooks();
+        bookFacade.findAllBooks();
+
+        Timer timer = registry.get(MethodMetricsAspect.FACADE)
+                .tags("facade", "BookFacade", "method", "findAllBooks", "exception", "none")
+                .timer();
+        Assert.assertEquals(2, timer.count());
+        DistributionSummary results = registry.get(MethodMetricsAspect.FACADE + ".results")
+                .tags("facade", "BookFacade", "method", "findAllBooks")
+                .summary();
+        Assert.assertEquals(2, results.count());
+        Assert.assertEquals(3, results.max(), 0);
+    }
+
+    @Test
+    public void testFailedCallsAreTimedByException() {
+        Mockito.when(
+                bookFacadeMock.setCopies(1, 0)
+        ).thenThrow(new IllegalStateException("lent"));
+
+        try {
+            bookFacade.setCopies(1, 0);
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+            Assert.assertEquals(1, registry.get(MethodMetricsAspect.FACADE)
+                    .tags("method", "setCopies", "exception", "IllegalStateException")
+                    .timer().count());
+            Assert.assertEquals(0, registry.get(MethodMetricsAspect.FACADE)
+                    .tags("method", "setCopies", "exception", "none")
+                    .timer().count());
+        }
+    }
+
+    @Test
+    public void testRepositoryCallsAreTimed() {
+        Mockito.when(
+                bookRepositoryMock.findById(1L)
+        ).thenReturn(Optional.of(new Book("1984", "George Orwell")));
+        Mockito.when(
+                bookRepositoryMock.findAll()
+        ).thenReturn(Collections.emptyList());
+
+        bookRepository.findById(1L);
+        bookRepository.findAll();
+
+        Assert.assertEquals(1, registry.get(MethodMetricsAspect.REPOSITORY)
+                .tags("repository", "BookRepository", "method", "findById")
+                .timer().count());
+        Assert.assertNull(registry.find(MethodMetricsAspect.REPOSITORY + ".results")
+                .tags("repository", "BookRepository", "method", "findById")
+                .summary());
+        Assert.assertEquals(1, registry.get(MethodMetricsAspect.REPOSITORY + ".results")
+                .tags("repository", "BookRepository", "method", "findAll")
+                .summary().count());
+    }
+
+    @Test
+    public void testCallsAreRecordedAsFlightRecorderEvents() throws Exception {
+        Mockito.when(
+                bookFacadeMock.findAllBooks()
+        ).thenReturn(Arrays.asList(new BookDTO(), new BookDTO()));
+
+        Path file = Files.createTempFile("calls", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(FacadeCallEvent.class);
+            recording.start();
+            bookFacade.findAllBooks();
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("cz.muni.fi.pa165.library.FacadeCall"))
+                    .collect(Collectors.toList());
+            Assert.assertEquals(1, events.size());
+            Assert.assertEquals("BookFacade", events.get(0).getString("type"));
+            Assert.assertEquals("findAllBooks", events.get(0).getString("method"));
+            Assert.assertEquals(2, events.get(0).getLong("resultCount"));
+            Assert.assertNull(events.get(0).getString("exception"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testSize() {
+        Assert.assertEquals(2, MethodMetricsAspect.size(Arrays.asList(1, 2)));
+        Assert.assertEquals(1, MethodMetricsAspect.size(new PageDTO<>(Collections.singletonList(1), "next")));
+        Assert.assertEquals(0, MethodMetricsAspect.size(new Object[0]));
+        Assert.assertEquals(-1, MethodMetricsAspect.size(new BookDTO()));
+        Assert.assertEquals(-1, MethodMetricsAspect.size(null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target, MethodMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return (T) factory.getProxy();
+    }
+}
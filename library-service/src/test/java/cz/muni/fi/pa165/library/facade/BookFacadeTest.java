@@ -1,8 +1,13 @@
 package cz.muni.fi.pa165.library.facade;
 
 import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.InventoryDTO;
+import cz.muni.fi.pa165.library.dto.PageDTO;
 import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.BookInventory;
 import cz.muni.fi.pa165.library.services.BookService;
+import cz.muni.fi.pa165.library.services.InventoryService;
+import cz.muni.fi.pa165.library.services.KeysetPage;
 import cz.muni.fi.pa165.library.services.MappingService;
 import org.junit.Assert;
 import org.junit.Test;
@@ -34,6 +39,9 @@ public class BookFacadeTest {
     @Mock
     private MappingService mappingService;
 
+    @Mock
+    private InventoryService inventoryService;
+
     @Test
     public void testFindById() {
         setBook();
@@ -116,6 +124,25 @@ public class BookFacadeTest {
         Assert.assertEquals(Arrays.asList(bookDTO, bookDTO2), bookFacade.findAllBooks());
     }
 
+    @Test
+    public void testFindBooksPage() {
+        setTwoBooks();
+
+        Mockito.when(
+                bookService.findPage("id", null, 2)
+        ).thenReturn(
+                new KeysetPage<>(Arrays.asList(book, book2), "cursor")
+        );
+
+        Mockito.when(
+                mappingService.mapTo(Arrays.asList(book, book2), BookDTO.class)
+        ).thenReturn(
+                Arrays.asList(bookDTO, bookDTO2)
+        );
+
+        Assert.assertEquals(new PageDTO<>(Arrays.asList(bookDTO, bookDTO2), "cursor"), bookFacade.findBooksPage("id", null, 2));
+    }
+
     @Test
     public void testAddUser() {
         setBook();
@@ -131,6 +158,28 @@ public class BookFacadeTest {
         Assert.assertEquals(book.getId(), bookFacade.createBook(bookDTO));
     }
 
+    @Test
+    public void testGetInventory() {
+        Mockito.when(
+                inventoryService.getInventory(123)
+        ).thenReturn(
+                new BookInventory(123, 5, 2)
+        );
+
+        Assert.assertEquals(new InventoryDTO(123, 5, 2), bookFacade.getInventory(123));
+    }
+
+    @Test
+    public void testSetCopies() {
+        Mockito.when(
+                inventoryService.setCopies(123, 6)
+        ).thenReturn(
+                new BookInventory(123, 6, 3)
+        );
+
+        Assert.assertEquals(new InventoryDTO(123, 6, 3), bookFacade.setCopies(123, 6));
+    }
+
     private void setBook() {
         book = new Book("Animal Farm", "George Orwell");
         book.setId(123);
@@ -1,9 +1,8 @@
 package cz.muni.fi.pa165.library.facade;
 
-import cz.muni.fi.pa165.library.dto.BookDTO;
 import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
-import cz.muni.fi.pa165.library.dto.UserDTO;
 import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.services.InventoryService;
 import cz.muni.fi.pa165.library.services.MappingService;
 import cz.muni.fi.pa165.library.services.SingleLoanService;
 import org.junit.Assert;
@@ -14,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.junit4.SpringRunner;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -30,6 +30,9 @@ public class LoanFacadeImplTest {
     @Mock
     private MappingService mappingService;
 
+    @Mock
+    private InventoryService inventoryService;
+
     @InjectMocks
     private LoanFacadeImpl loanFacadeImpl;
 
@@ -38,7 +41,7 @@ public class LoanFacadeImplTest {
         final long fake_id = 43252343;
         
         Mockito.when(
-                singleLoanService.createSingleLoan(
+                inventoryService.borrowBook(
                         any()
                 )
         ).thenReturn(fake_id);
@@ -51,16 +54,14 @@ public class LoanFacadeImplTest {
 
     @Test
     public void testReturnBook() {
-        Optional<SingleLoan> optionalSingleLoan
-                = Optional.of(new SingleLoan());
+        SingleLoanDTO returnInfo = new SingleLoanDTO();
+        returnInfo.setId(5);
+        returnInfo.setReturnedAt(LocalDateTime.of(2020, 1, 2, 12, 0));
+        returnInfo.setReturnCondition("good");
 
-        Mockito.when(
-                singleLoanService.findById(
-                        anyLong()
-                )
-        ).thenReturn(optionalSingleLoan);
+        loanFacadeImpl.returnBook(returnInfo);
 
-        loanFacadeImpl.returnBook(new SingleLoanDTO());
+        Mockito.verify(inventoryService).returnBook(5, returnInfo.getReturnedAt(), "good");
     }
 
     @Test
@@ -87,12 +88,12 @@ public class LoanFacadeImplTest {
 
     @Test
     public void testGetLoansForUser() {
-        loanFacadeImpl.getLoansForUser(new UserDTO());
+        loanFacadeImpl.getLoansForUser(1, 0, 20);
     }
 
     @Test
     public void testGetLoansForBook() {
-        loanFacadeImpl.getLoansForBook(new BookDTO());
+        loanFacadeImpl.getLoansForBook(1, 0, 20);
     }
 
     @Test
@@ -109,5 +110,6 @@ public class LoanFacadeImplTest {
     public void testDeleteById() {
         final long fake_id = 34325345;
         loanFacadeImpl.deleteById(fake_id);
+        Mockito.verify(inventoryService).deleteLoan(fake_id);
     }
 }
\ No newline at end of file
@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.springframework.test.context.junit4.SpringRunner;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Katarína Hermanová
@@ -92,14 +93,22 @@ public class UserFacadeTest {
         setUser();
 
         Mockito.when(
-                mappingService.mapTo(
-                        userService.findByEmail(user.getEmail()), UserDTO.class
-                )
+                userService.findByEmail(user.getEmail())
+        ).thenReturn(user);
+
+        Mockito.when(
+                mappingService.mapTo(user, UserDTO.class)
         ).thenReturn(userDTO);
 
         Assert.assertEquals(userDTO, userFacade.findByEmail(user.getEmail()));
     }
 
+    @Test
+    public void testFindByEmailNonExisting() {
+        Assert.assertNull(userFacade.findByEmail("nobody@mail.com"));
+        Mockito.verifyZeroInteractions(mappingService);
+    }
+
     @Test
     public void testFindAll() {
         setTwoUsers();
@@ -163,6 +172,25 @@ public class UserFacadeTest {
         Assert.assertEquals(user.getId(), userFacade.addUser(userDTO, "password"));
     }
 
+    @Test
+    public void testAddUserAsync() {
+        setUser();
+
+        Mockito.when(
+                mappingService.mapTo(userDTO, User.class)
+        ).thenReturn(
+                user
+        );
+
+        Mockito.when(
+                userService.addUserAsync(user, "password")
+        ).thenReturn(
+                CompletableFuture.completedFuture(user.getId())
+        );
+
+        Assert.assertEquals(Long.valueOf(user.getId()), userFacade.addUserAsync(userDTO, "password").join());
+    }
+
     private void setUser() {
         user = new User("Kat", "Herman", "kHerm@mail.com", true);
         user.setId(123);
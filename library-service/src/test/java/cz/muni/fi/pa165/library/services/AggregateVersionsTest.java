@@ -0,0 +1,60 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.services.AggregateVersions.Aggregate;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class AggregateVersionsTest {
+
+    private AggregateVersions versions;
+
+    @Before
+    public void setUp() {
+        versions = new AggregateVersions();
+    }
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testBumpWithoutTransaction() {
+        versions.bumpAfterCommit(Aggregate.BOOKS);
+
+        Assert.assertEquals(1, versions.get(Aggregate.BOOKS));
+        Assert.assertEquals(0, versions.get(Aggregate.USERS));
+    }
+
+    @Test
+    public void testBumpWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.bumpAfterCommit(Aggregate.LOANS);
+        Assert.assertEquals(0, versions.get(Aggregate.LOANS));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        Assert.assertEquals(1, versions.get(Aggregate.LOANS));
+    }
+
+    @Test
+    public void testEtagChangesWithAnyAggregate() {
+        String etag = versions.etag(Aggregate.LOANS, Aggregate.BOOKS);
+        Assert.assertEquals(etag, versions.etag(Aggregate.LOANS, Aggregate.BOOKS));
+
+        versions.bumpAfterCommit(Aggregate.USERS);
+        Assert.assertEquals(etag, versions.etag(Aggregate.LOANS, Aggregate.BOOKS));
+
+        versions.bumpAfterCommit(Aggregate.BOOKS);
+        Assert.assertNotEquals(etag, versions.etag(Aggregate.LOANS, Aggregate.BOOKS));
+        Assert.assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+    }
+}
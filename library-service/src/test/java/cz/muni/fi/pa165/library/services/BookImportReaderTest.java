@@ -0,0 +1,87 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import org.junit.Assert;
+import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class BookImportReaderTest {
+
+    private static List<Book> read(String input, String format) {
+        Iterator<Book> books = BookImportReader.read(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format);
+        List<Book> result = new ArrayList<>();
+        books.forEachRemaining(result::add);
+        return result;
+    }
+
+    @Test
+    public void testJson() {
+        List<Book> books = read("[{\"id\": 7, \"title\": \"Witcher\", \"author\": \"Andrzej Sapkowski\"},"
+                + "{\"title\": \"Animal Farm\", \"tags\": [\"a\", {\"b\": 1}], \"author\": \"George Orwell\"},"
+                + "{\"title\": \"Nobody wrote this\"}]", "json");
+
+        Assert.assertEquals(3, books.size());
+        Assert.assertEquals(new Book("Witcher", "Andrzej Sapkowski"), books.get(0));
+        Assert.assertEquals(0, books.get(0).getId());
+        Assert.assertEquals(new Book("Animal Farm", "George Orwell"), books.get(1));
+        Assert.assertEquals("Nobody wrote this", books.get(2).getTitle());
+        Assert.assertNull(books.get(2).getAuthor());
+    }
+
+    @Test
+    public void testEmptyJson() {
+        Assert.assertTrue(read("[]", "json").isEmpty());
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testJsonNotArray() {
+        read("{\"title\": \"Witcher\", \"author\": \"Andrzej Sapkowski\"}", "json");
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testTruncatedJson() {
+        read("[{\"title\": \"Witcher\", \"author\": \"Andrzej Sapkowski\"}, {\"title\": ", "json");
+    }
+
+    @Test
+    public void testCsv() {
+        List<Book> books = read("title,author\r\n"
+                + "Witcher,Andrzej Sapkowski\r\n"
+                + "\n"
+                + "\"Farm, Animal\",\"George \"\"Eric\"\" Orwell\"\n"
+                + "\"Multi\nline\",Author\n"
+                + "Too,many,columns\n"
+                + "Last,Line", "csv");
+
+        Assert.assertEquals(5, books.size());
+        Assert.assertEquals(new Book("Witcher", "Andrzej Sapkowski"), books.get(0));
+        Assert.assertEquals(new Book("Farm, Animal", "George \"Eric\" Orwell"), books.get(1));
+        Assert.assertEquals(new Book("Multi\nline", "Author"), books.get(2));
+        Assert.assertNull(books.get(3).getTitle());
+        Assert.assertEquals(new Book("Last", "Line"), books.get(4));
+    }
+
+    @Test
+    public void testCsvWithoutHeader() {
+        List<Book> books = read("Witcher,Andrzej Sapkowski\n", "csv");
+
+        Assert.assertEquals(1, books.size());
+        Assert.assertEquals(new Book("Witcher", "Andrzej Sapkowski"), books.get(0));
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testCsvUnterminatedQuote() {
+        read("\"Witcher,Andrzej Sapkowski\n", "csv");
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testUnknownFormat() {
+        read("", "xml");
+    }
+}
@@ -1,6 +1,7 @@
 package cz.muni.fi.pa165.library.services;
 
 import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
 import cz.muni.fi.pa165.library.repositories.BookRepository;
 import org.junit.Assert;
 import org.junit.Test;
@@ -8,7 +9,13 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -23,6 +30,15 @@ public class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    @Mock
+    private InventoryService inventoryService;
+
     @InjectMocks
     private BookService bookService;
 
@@ -37,6 +53,7 @@ public class BookServiceTest {
         );
 
         Assert.assertNotNull(bookService.createBook(book));
+        Mockito.verify(aggregateVersions).bumpAfterCommit(AggregateVersions.Aggregate.BOOKS);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -52,6 +69,7 @@ public class BookServiceTest {
     @Test
     public void testFindBookByAuthor() {
         Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
         String author = book.getAuthor();
 
         Mockito.when(
@@ -60,13 +78,21 @@ public class BookServiceTest {
                 Arrays.asList(book)
         );
 
+        Mockito.when(
+                bookRepository.findAllById(Arrays.asList(book.getId()))
+        ).thenReturn(
+                Arrays.asList(book)
+        );
+
         Assert.assertEquals(Arrays.asList(book), bookService.findByAuthor(author));
     }
 
     @Test
     public void testFindMultipleBooksByAuthor() {
         Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
         Book book2 = new Book("Another Title", "George Orwell");
+        book2.setId(2);
         String author = book.getAuthor();
 
         Mockito.when(
@@ -75,12 +101,19 @@ public class BookServiceTest {
                 Arrays.asList(book, book2)
         );
 
+        Mockito.when(
+                bookRepository.findAllById(Arrays.asList(book.getId(), book2.getId()))
+        ).thenReturn(
+                Arrays.asList(book2, book)
+        );
+
         Assert.assertEquals(Arrays.asList(book, book2), bookService.findByAuthor(author));
     }
 
     @Test
     public void testFindBookByTitle() {
         Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
         String title = book.getTitle();
 
         Mockito.when(
@@ -89,13 +122,21 @@ public class BookServiceTest {
                 Arrays.asList(book)
         );
 
+        Mockito.when(
+                bookRepository.findAllById(Arrays.asList(book.getId()))
+        ).thenReturn(
+                Arrays.asList(book)
+        );
+
         Assert.assertEquals(Arrays.asList(book), bookService.findByTitle(title));
     }
 
     @Test
     public void testFindMultipleBooksByTitle() {
         Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
         Book book2 = new Book("Animal Farm", "Another Author");
+        book2.setId(2);
         String title = book.getTitle();
 
         Mockito.when(
@@ -104,6 +145,12 @@ public class BookServiceTest {
                 Arrays.asList(book, book2)
         );
 
+        Mockito.when(
+                bookRepository.findAllById(Arrays.asList(book.getId(), book2.getId()))
+        ).thenReturn(
+                Arrays.asList(book2, book)
+        );
+
         Assert.assertEquals(Arrays.asList(book, book2), bookService.findByTitle(title));
     }
 
@@ -121,6 +168,53 @@ public class BookServiceTest {
         Assert.assertEquals(Arrays.asList(book, book2), bookService.findAll());
     }
 
+    @Test
+    public void testFindPage() {
+        Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
+        Book book2 = new Book("Another Title", "Another Author");
+        book2.setId(2);
+        Book book3 = new Book("Third Title", "Third Author");
+        book3.setId(3);
+
+        Mockito.when(
+                bookRepository.findAllByOrderByTitleAscIdAsc(PageRequest.of(0, 3))
+        ).thenReturn(
+                Arrays.asList(book, book2, book3)
+        );
+
+        Mockito.when(
+                bookRepository.findByTitleAfter(book2.getTitle(), book2.getId(), PageRequest.of(0, 3))
+        ).thenReturn(
+                Arrays.asList(book3)
+        );
+
+        KeysetPage<Book> first = bookService.findPage("title", null, 2);
+        Assert.assertEquals(Arrays.asList(book, book2), first.getContent());
+        Assert.assertNotNull(first.getNextCursor());
+
+        KeysetPage<Book> second = bookService.findPage("title", first.getNextCursor(), 2);
+        Assert.assertEquals(Arrays.asList(book3), second.getContent());
+        Assert.assertNull(second.getNextCursor());
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testFindPageUnknownSort() {
+        bookService.findPage("publisher", null, 20);
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testFindPageCursorOfAnotherSort() {
+        String cursor = new KeysetCursor("author", "George Orwell", 1).encode();
+
+        bookService.findPage("title", cursor, 20);
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testFindPageTooLarge() {
+        bookService.findPage("id", null, KeysetPage.MAX_SIZE + 1);
+    }
+
     @Test
     public void testDeleteBook() {
         Book book = new Book("Animal Farm", "George Orwell");
@@ -133,5 +227,150 @@ public class BookServiceTest {
         );
 
         Assert.assertEquals(book.getId(), bookService.deleteBook(book.getId()));
+        Mockito.verify(inventoryService).deleteInventory(book.getId());
+        Mockito.verify(aggregateVersions).bumpAfterCommit(AggregateVersions.Aggregate.BOOKS);
+    }
+
+    @Test
+    public void testFindByTitleLoadsCatalogueOnlyOnce() {
+        Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
+        Book book2 = new Book("Another Title", "Another Author");
+        book2.setId(2);
+
+        Mockito.when(
+                bookRepository.findAll()
+        ).thenReturn(
+                Arrays.asList(book, book2)
+        );
+
+        Mockito.when(
+                bookRepository.findAllById(Arrays.asList(book2.getId()))
+        ).thenReturn(
+                Arrays.asList(book2)
+        );
+
+        Assert.assertEquals(Arrays.asList(book2), bookService.findByTitle("Title"));
+        Assert.assertEquals(Arrays.asList(book2), bookService.findByAuthor("Another"));
+        Assert.assertEquals(Arrays.asList(), bookService.findByTitle("Missing"));
+
+        Mockito.verify(bookRepository, Mockito.times(1)).findAll();
+    }
+
+    @Test
+    public void testFindByTitleContainsCreatedBook() {
+        Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
+
+        Mockito.when(
+                bookRepository.save(book)
+        ).thenReturn(
+                book
+        );
+
+        Mockito.when(
+                bookRepository.findAllById(Arrays.asList(book.getId()))
+        ).thenReturn(
+                Arrays.asList(book)
+        );
+
+        bookService.createBook(book);
+
+        Assert.assertEquals(Arrays.asList(book), bookService.findByTitle("Farm"));
+    }
+
+    @Test
+    public void testFindByTitleSkipsDeletedBook() {
+        Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
+
+        Mockito.when(
+                bookRepository.findAll()
+        ).thenReturn(
+                Arrays.asList(book)
+        );
+
+        Mockito.when(
+                bookRepository.findById(book.getId())
+        ).thenReturn(
+                Optional.of(book)
+        );
+
+        Assert.assertEquals(Arrays.asList(), bookService.findByTitle("Missing"));
+
+        bookService.deleteBook(book.getId());
+
+        Assert.assertEquals(Arrays.asList(), bookService.findByTitle("Farm"));
+        Mockito.verify(bookRepository, Mockito.never()).findAllById(Mockito.any());
+    }
+
+    @Test
+    public void testImportBooksSkipsDuplicatesAndIncompleteRows() {
+        Mockito.when(
+                bookRepository.findAllTitlesAndAuthors()
+        ).thenReturn(
+                Arrays.asList(new Book("Animal Farm", "George Orwell"))
+        );
+
+        ImportSummary summary = bookService.importBooks(input("title,author\n"
+                + "Witcher,Andrzej Sapkowski\n"
+                + "Animal Farm,George Orwell\n"
+                + "Witcher,Andrzej Sapkowski\n"
+                + "Witcher,\n"
+                + "1984,George Orwell\n"), "csv");
+
+        Assert.assertEquals(2, summary.getInserted());
+        Assert.assertEquals(3, summary.getSkipped());
+        Mockito.verify(entityManager).persist(new Book("Witcher", "Andrzej Sapkowski"));
+        Mockito.verify(entityManager).persist(new Book("1984", "George Orwell"));
+        Mockito.verify(entityManager, Mockito.times(2)).persist(Mockito.any());
+        Mockito.verify(bookRepository, Mockito.never()).save(Mockito.any());
+    }
+
+    @Test
+    public void testImportBooksFlushesInBatches() {
+        StringBuilder json = new StringBuilder("[");
+        int count = BookService.IMPORT_BATCH_SIZE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"title\": \"Book ").append(i).append("\", \"author\": \"Author\"}");
+        }
+        json.append("]");
+
+        ImportSummary summary = bookService.importBooks(input(json.toString()), "json");
+
+        Assert.assertEquals(count, summary.getInserted());
+        Assert.assertEquals(0, summary.getSkipped());
+        Mockito.verify(entityManager, Mockito.times(3)).flush();
+        Mockito.verify(entityManager, Mockito.times(3)).clear();
+    }
+
+    @Test
+    public void testImportedBooksIndexedAfterCommit() {
+        Book book = new Book("Witcher", "Andrzej Sapkowski");
+
+        Mockito.when(
+                bookRepository.findAllById(Arrays.asList(book.getId()))
+        ).thenReturn(
+                Arrays.asList(book)
+        );
+
+        Assert.assertEquals(Arrays.asList(), bookService.findByTitle("Witcher"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bookService.importBooks(input("title,author\nWitcher,Andrzej Sapkowski\n"), "csv");
+
+            Assert.assertEquals(Arrays.asList(), bookService.findByTitle("Witcher"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assert.assertEquals(Arrays.asList(book), bookService.findByTitle("Witcher"));
+    }
+
+    private static ByteArrayInputStream input(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,229 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.BookInventory;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+public class DatasetGeneratorTest {
+
+    private static final LocalDateTime END = LocalDateTime.of(2020, 3, 1, 0, 0);
+
+    /** 100 books, 10 users, 5000 loans over 100 days, popularity skewed by 1, a fifth of loans open */
+    private static final DatasetSpec SPEC = new DatasetSpec(100, 10, 5000, 7, 1.0, 0.2,
+            Duration.ofDays(100), END, "pass");
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private BookService bookService;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
+    /** four threads, batches of 64 rows */
+    @InjectMocks
+    private DatasetGenerator datasetGenerator = new DatasetGenerator(SPEC, 4, 64);
+
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private final Map<Long, SingleLoan> loans = new ConcurrentHashMap<>();
+
+    private final Map<Long, BookInventory> inventories = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp() {
+        Mockito.when(
+                transactionTemplate.execute(any())
+        ).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(
+                passwordHashingService.hash("pass")
+        ).thenReturn(
+                "hash"
+        );
+        Mockito.doAnswer(invocation -> {
+            Object entity = invocation.getArgument(0);
+            if (entity instanceof BookInventory) {
+                inventories.put(((BookInventory) entity).getBookId(), (BookInventory) entity);
+                return null;
+            }
+            long id = nextId.getAndIncrement();
+            if (entity instanceof Book) {
+                ((Book) entity).setId(id);
+            } else if (entity instanceof User) {
+                ((User) entity).setId(id);
+            } else {
+                ((SingleLoan) entity).setId(id);
+                loans.put(id, (SingleLoan) entity);
+            }
+            return null;
+        }).when(entityManager).persist(any());
+        Mockito.when(
+                entityManager.getReference(eq(Book.class), anyLong())
+        ).thenAnswer(invocation -> {
+            Book book = new Book();
+            book.setId(invocation.getArgument(1));
+            return book;
+        });
+        Mockito.when(
+                entityManager.getReference(eq(User.class), anyLong())
+        ).thenAnswer(invocation -> {
+            User user = new User();
+            user.setId(invocation.getArgument(1));
+            return user;
+        });
+    }
+
+    @Test
+    public void testGenerate() {
+        GeneratedDataset dataset = datasetGenerator.generate(SPEC);
+
+        Assert.assertEquals(100, dataset.getBookIds().length);
+        Assert.assertEquals(10, dataset.getUserIds().length);
+        Assert.assertEquals(5000, dataset.getLoanIds().length);
+        Assert.assertEquals(5110, dataset.getRows());
+        Assert.assertEquals(5110, Arrays.stream(dataset.getBookIds()).distinct().count()
+                + Arrays.stream(dataset.getUserIds()).distinct().count()
+                + Arrays.stream(dataset.getLoanIds()).distinct().count());
+        Mockito.verify(passwordHashingService).hash("pass");
+        Mockito.verify(aggregateVersions).bumpAfterCommit(AggregateVersions.Aggregate.BOOKS);
+        Mockito.verify(aggregateVersions).bumpAfterCommit(AggregateVersions.Aggregate.USERS);
+        Mockito.verify(aggregateVersions).bumpAfterCommit(AggregateVersions.Aggregate.LOANS);
+    }
+
+    @Test
+    public void testLoanHistory() {
+        GeneratedDataset dataset = datasetGenerator.generate(SPEC);
+
+        LocalDateTime previous = END.minusDays(100);
+        long open = 0;
+        for (long id : dataset.getLoanIds()) {
+            SingleLoan loan = loans.get(id);
+            Assert.assertFalse(loan.getRegisteredAt().isBefore(previous));
+            previous = loan.getRegisteredAt();
+            if (loan.getReturnedAt() == null) {
+                open++;
+            } else {
+                Assert.assertFalse(loan.getReturnedAt().isBefore(loan.getRegisteredAt()));
+                Assert.assertFalse(loan.getReturnedAt().isAfter(END));
+            }
+        }
+        Assert.assertTrue(previous.isBefore(END));
+        Assert.assertEquals(open, dataset.getOpenLoanIds().length);
+        Assert.assertEquals(0.2, open / 5000.0, 0.03);
+    }
+
+    @Test
+    public void testInventories() {
+        GeneratedDataset dataset = datasetGenerator.generate(SPEC);
+
+        Map<Long, Integer> openByBook = new ConcurrentHashMap<>();
+        Arrays.stream(dataset.getOpenLoanIds())
+                .forEach(id -> openByBook.merge(loans.get(id).getBook().getId(), 1, Integer::sum));
+        Assert.assertEquals(100, inventories.size());
+        for (long bookId : dataset.getBookIds()) {
+            BookInventory inventory = inventories.get(bookId);
+            int open = openByBook.getOrDefault(bookId, 0);
+            Assert.assertEquals(Math.max(1, open), inventory.getCopies());
+            Assert.assertEquals(inventory.getCopies() - open, inventory.getAvailableCopies());
+        }
+    }
+
+    @Test
+    public void testSkewedPopularity() {
+        GeneratedDataset dataset = datasetGenerator.generate(SPEC);
+
+        Map<Long, Integer> loansByBook = new ConcurrentHashMap<>();
+        loans.values().forEach(loan -> loansByBook.merge(loan.getBook().getId(), 1, Integer::sum));
+        List<Integer> counts = new ArrayList<>(loansByBook.values());
+        counts.sort((a, b) -> b - a);
+
+        // a tenth of the books has more than half of the loans with the exponent 1
+        Assert.assertTrue(counts.subList(0, 10).stream().mapToInt(Integer::intValue).sum() > 2500);
+        Assert.assertTrue(Arrays.stream(dataset.getBookIds()).boxed().collect(Collectors.toSet())
+                .containsAll(loansByBook.keySet()));
+    }
+
+    @Test
+    public void testSameRowsWithOtherThreads() {
+        List<String> parallel = rows(datasetGenerator.generate(SPEC));
+
+        loans.clear();
+        DatasetGenerator serial = new DatasetGenerator(SPEC, 1, 1000);
+        ReflectionTestUtils.setField(serial, "entityManager", entityManager);
+        ReflectionTestUtils.setField(serial, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(serial, "passwordHashingService", passwordHashingService);
+        ReflectionTestUtils.setField(serial, "bookService", bookService);
+        ReflectionTestUtils.setField(serial, "aggregateVersions", aggregateVersions);
+
+        Assert.assertEquals(parallel, rows(serial.generate(SPEC)));
+    }
+
+    @Test
+    public void testSpecRows() {
+        DatasetSpec other = new DatasetSpec(100, 10, 5000, 8, 1.0, 0.2, Duration.ofDays(100), END, "pass");
+
+        Assert.assertEquals(SPEC.title(3), new DatasetSpec(1, 0, 0, 7).title(3));
+        Assert.assertEquals(SPEC.author(3), new DatasetSpec(1, 0, 0, 7).author(3));
+        Assert.assertNotEquals(Arrays.asList(SPEC.title(3), SPEC.title(4), SPEC.title(5)),
+                Arrays.asList(other.title(3), other.title(4), other.title(5)));
+        Assert.assertEquals("user3@mail.com", DatasetSpec.email(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSpecLoansWithoutUsers() {
+        new DatasetSpec(10, 0, 10, 7);
+    }
+
+    /**
+     * @return loans by their numbers, with the numbers of their books and users
+     */
+    private List<String> rows(GeneratedDataset dataset) {
+        List<Long> books = new ArrayList<>();
+        Arrays.stream(dataset.getBookIds()).forEach(books::add);
+        List<Long> users = new ArrayList<>();
+        Arrays.stream(dataset.getUserIds()).forEach(users::add);
+        List<String> rows = new ArrayList<>();
+        for (long id : dataset.getLoanIds()) {
+            SingleLoan loan = loans.get(id);
+            rows.add(books.indexOf(loan.getBook().getId()) + " " + users.indexOf(loan.getUser().getId())
+                    + " " + loan.getRegisteredAt() + " " + loan.getReturnedAt() + " " + loan.getReturnCondition());
+        }
+        return rows;
+    }
+}
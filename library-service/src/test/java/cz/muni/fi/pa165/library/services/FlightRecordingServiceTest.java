@@ -0,0 +1,65 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.exceptions.RecordingStateException;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.unit.DataSize;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+/**
+ * @since 18.10.2026
+ */
+public class FlightRecordingServiceTest {
+
+    private final FlightRecordingService flightRecordingService =
+            new FlightRecordingService(Duration.ofMinutes(1), DataSize.ofMegabytes(10), "default");
+
+    @After
+    public void tearDown() {
+        flightRecordingService.close();
+    }
+
+    @Test
+    public void testStartStopAndDump() throws Exception {
+        Assert.assertTrue(flightRecordingService.getStatus().isEmpty());
+
+        Assert.assertEquals(RecordingState.RUNNING, flightRecordingService.start(Duration.ofMinutes(5)).get("state"));
+        // bounded by library.jfr.max-duration
+        Assert.assertEquals(Duration.ofMinutes(1), flightRecordingService.getStatus().get("duration"));
+        Assert.assertEquals(RecordingState.STOPPED, flightRecordingService.stop().get("state"));
+
+        Path file = flightRecordingService.dump();
+        try {
+            Assert.assertFalse(RecordingFile.readAllEvents(file).isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test(expected = RecordingStateException.class)
+    public void testStartWhileRunning() {
+        flightRecordingService.start(Duration.ofSeconds(30));
+        flightRecordingService.start(Duration.ofSeconds(30));
+    }
+
+    @Test(expected = RecordingStateException.class)
+    public void testStopWithoutRecording() {
+        flightRecordingService.stop();
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testDumpWithoutRecording() throws Exception {
+        flightRecordingService.dump();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownSettings() {
+        new FlightRecordingService(Duration.ofMinutes(1), DataSize.ofMegabytes(10), "unknown");
+    }
+}
@@ -0,0 +1,352 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.BookInventory;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.exceptions.CopiesLentException;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
+import cz.muni.fi.pa165.library.exceptions.NoCopyAvailableException;
+import cz.muni.fi.pa165.library.repositories.BookInventoryRepository;
+import cz.muni.fi.pa165.library.repositories.BookRepository;
+import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+public class InventoryServiceTest {
+
+    @Mock
+    private BookInventoryRepository bookInventoryRepository;
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private SingleLoanRepository singleLoanRepository;
+
+    @Mock
+    private SingleLoanService singleLoanService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private InventoryService inventoryService = new InventoryService(16);
+
+    private Book book;
+
+    private User user;
+
+    @Before
+    public void setUp() {
+        book = new Book("Animal Farm", "George Orwell");
+        book.setId(7);
+        user = new User("Martin", "Páleník", "359817@mail.muni.cz", false);
+
+        Mockito.when(
+                transactionTemplate.execute(any())
+        ).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    public void testBorrowBook() {
+        inventory(2, 2);
+        SingleLoan loan = newLoan();
+        Mockito.when(
+                bookInventoryRepository.takeCopy(7)
+        ).thenReturn(1);
+        Mockito.when(
+                singleLoanService.createSingleLoan(loan)
+        ).thenReturn(3L);
+
+        Assert.assertEquals(3L, inventoryService.borrowBook(loan));
+        Assert.assertEquals(new BookInventory(7, 2, 1), inventoryService.getInventory(7));
+        Mockito.verify(bookInventoryRepository, Mockito.times(1)).findById(7L);
+    }
+
+    @Test
+    public void testBorrowUnavailableBook() {
+        inventory(1, 0);
+        Mockito.when(
+                bookInventoryRepository.takeCopy(7)
+        ).thenReturn(0);
+
+        try {
+            inventoryService.borrowBook(newLoan());
+            Assert.fail();
+        } catch (NoCopyAvailableException expected) {
+            Mockito.verify(singleLoanService, Mockito.never()).createSingleLoan(any());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBorrowBookWithoutBook() {
+        inventoryService.borrowBook(new SingleLoan(null, user, LocalDateTime.now()));
+    }
+
+    @Test
+    public void testInventoryComputedBeforeFirstChange() {
+        Mockito.when(
+                bookInventoryRepository.findById(7L)
+        ).thenReturn(Optional.empty());
+        Mockito.when(
+                bookRepository.findById(7L)
+        ).thenReturn(Optional.of(book));
+        Mockito.when(
+                singleLoanRepository.countByBookIdAndReturnedAtIsNull(7)
+        ).thenReturn(3L);
+
+        Assert.assertEquals(new BookInventory(7, 3, 0), inventoryService.getInventory(7));
+        Mockito.verify(bookInventoryRepository, Mockito.never()).save(any());
+    }
+
+    @Test
+    public void testInventoryCreatedOnFirstBorrow() {
+        Mockito.when(
+                bookInventoryRepository.findById(7L)
+        ).thenReturn(Optional.empty());
+        Mockito.when(
+                bookRepository.findById(7L)
+        ).thenReturn(Optional.of(book));
+        Mockito.when(
+                singleLoanRepository.countByBookIdAndReturnedAtIsNull(7)
+        ).thenReturn(0L);
+        Mockito.when(
+                bookInventoryRepository.save(any())
+        ).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(
+                bookInventoryRepository.takeCopy(7)
+        ).thenReturn(1);
+
+        inventoryService.borrowBook(newLoan());
+
+        Mockito.verify(bookInventoryRepository).save(new BookInventory(7, 1, 1));
+        Assert.assertEquals(new BookInventory(7, 1, 0), inventoryService.getInventory(7));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testInventoryOfNonExistingBook() {
+        Mockito.when(
+                bookInventoryRepository.findById(7L)
+        ).thenReturn(Optional.empty());
+
+        inventoryService.getInventory(7);
+    }
+
+    @Test
+    public void testReturnBook() {
+        inventory(2, 1);
+        inventoryService.getInventory(7);
+        SingleLoan loan = newLoan();
+        Mockito.when(
+                singleLoanService.findById(5)
+        ).thenReturn(Optional.of(loan));
+        Mockito.when(
+                singleLoanService.lockById(5)
+        ).thenReturn(Optional.of(loan));
+        Mockito.when(
+                bookInventoryRepository.returnCopy(7)
+        ).thenReturn(1);
+
+        LocalDateTime returnedAt = LocalDateTime.of(2020, 1, 2, 12, 0);
+        inventoryService.returnBook(5, returnedAt, "good");
+
+        Mockito.verify(singleLoanService).returnBook(loan, returnedAt, "good");
+        Assert.assertEquals(new BookInventory(7, 2, 2), inventoryService.getInventory(7));
+    }
+
+    @Test
+    public void testReturnReturnedLoan() {
+        SingleLoan loan = newLoan();
+        loan.setReturnedAt(LocalDateTime.of(2020, 1, 2, 12, 0));
+        Mockito.when(
+                singleLoanService.findById(5)
+        ).thenReturn(Optional.of(loan));
+        Mockito.when(
+                singleLoanService.lockById(5)
+        ).thenReturn(Optional.of(loan));
+
+        inventoryService.returnBook(5, LocalDateTime.of(2020, 1, 3, 12, 0), "bad");
+
+        Mockito.verify(bookInventoryRepository, Mockito.never()).returnCopy(7);
+    }
+
+    @Test
+    public void testReturnLoanReturnedMeanwhile() {
+        SingleLoan returned = newLoan();
+        returned.setReturnedAt(LocalDateTime.of(2020, 1, 2, 12, 0));
+        // the loan read before the lock is out of date, the locked one decides
+        Mockito.when(
+                singleLoanService.findById(5)
+        ).thenReturn(Optional.of(newLoan()));
+        Mockito.when(
+                singleLoanService.lockById(5)
+        ).thenReturn(Optional.of(returned));
+
+        inventoryService.returnBook(5, LocalDateTime.of(2020, 1, 3, 12, 0), "bad");
+
+        Mockito.verify(bookInventoryRepository, Mockito.never()).returnCopy(7);
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testReturnBookWithoutTime() {
+        inventoryService.returnBook(5, null, "good");
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testReturnNonExistingLoan() {
+        Mockito.when(
+                singleLoanService.findById(5)
+        ).thenReturn(Optional.empty());
+
+        inventoryService.returnBook(5, LocalDateTime.now(), "good");
+    }
+
+    @Test
+    public void testDeleteOpenLoan() {
+        Mockito.when(
+                singleLoanService.findById(5)
+        ).thenReturn(Optional.of(newLoan()));
+        Mockito.when(
+                singleLoanService.lockById(5)
+        ).thenReturn(Optional.of(newLoan()));
+
+        inventoryService.deleteLoan(5);
+
+        Mockito.verify(singleLoanService).deleteById(5);
+        Mockito.verify(bookInventoryRepository).returnCopy(7);
+    }
+
+    @Test
+    public void testDeleteLoanReturnedMeanwhile() {
+        SingleLoan returned = newLoan();
+        returned.setReturnedAt(LocalDateTime.of(2020, 1, 2, 12, 0));
+        Mockito.when(
+                singleLoanService.findById(5)
+        ).thenReturn(Optional.of(newLoan()));
+        Mockito.when(
+                singleLoanService.lockById(5)
+        ).thenReturn(Optional.of(returned));
+
+        inventoryService.deleteLoan(5);
+
+        Mockito.verify(singleLoanService).deleteById(5);
+        Mockito.verify(bookInventoryRepository, Mockito.never()).returnCopy(7);
+    }
+
+    @Test
+    public void testDeleteInventory() {
+        inventory(2, 2);
+        inventoryService.getInventory(7);
+
+        inventoryService.deleteInventory(7);
+
+        Mockito.verify(bookInventoryRepository).deleteByBookId(7);
+        inventoryService.getInventory(7);
+        Mockito.verify(bookInventoryRepository, Mockito.times(2)).findById(7L);
+    }
+
+    @Test
+    public void testSetCopies() {
+        Mockito.when(
+                bookInventoryRepository.findById(7L)
+        ).thenReturn(Optional.of(new BookInventory(7, 2, 1)), Optional.of(new BookInventory(7, 4, 3)));
+        Mockito.when(
+                bookInventoryRepository.setCopies(7, 4)
+        ).thenReturn(1);
+
+        Assert.assertEquals(new BookInventory(7, 4, 3), inventoryService.setCopies(7, 4));
+    }
+
+    @Test(expected = CopiesLentException.class)
+    public void testSetCopiesBelowLentCopies() {
+        inventory(3, 0);
+        Mockito.when(
+                bookInventoryRepository.setCopies(7, 2)
+        ).thenReturn(0);
+
+        inventoryService.setCopies(7, 2);
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testSetNegativeCopies() {
+        inventoryService.setCopies(7, -1);
+    }
+
+    @Test
+    public void testConcurrentBorrowsOfOneBook() throws Exception {
+        AtomicInteger available = new AtomicInteger(3);
+        Mockito.when(
+                bookInventoryRepository.findById(7L)
+        ).thenAnswer(invocation -> Optional.of(new BookInventory(7, 3, available.get())));
+        // check and decrement are not atomic, checkouts of the book are serialised by its lock
+        Mockito.when(
+                bookInventoryRepository.takeCopy(7)
+        ).thenAnswer(invocation -> {
+            if (available.get() == 0) {
+                return 0;
+            }
+            Thread.sleep(5);
+            available.decrementAndGet();
+            return 1;
+        });
+        Mockito.when(
+                singleLoanService.createSingleLoan(any())
+        ).thenReturn(1L);
+
+        ExecutorService desks = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> checkouts = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                checkouts.add(desks.submit(() -> inventoryService.borrowBook(newLoan())));
+            }
+            int succeeded = 0;
+            for (Future<Long> checkout : checkouts) {
+                try {
+                    checkout.get(5, TimeUnit.SECONDS);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof NoCopyAvailableException);
+                }
+            }
+            Assert.assertEquals(3, succeeded);
+            Assert.assertEquals(0, inventoryService.getInventory(7).getAvailableCopies());
+        } finally {
+            desks.shutdownNow();
+        }
+    }
+
+    private void inventory(int copies, int availableCopies) {
+        Mockito.when(
+                bookInventoryRepository.findById(7L)
+        ).thenReturn(Optional.of(new BookInventory(7, copies, availableCopies)));
+    }
+
+    private SingleLoan newLoan() {
+        return new SingleLoan(book, user, LocalDateTime.of(2020, 1, 1, 12, 0));
+    }
+}
@@ -0,0 +1,124 @@
+package cz.muni.fi.pa165.library.services;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+import cz.muni.fi.pa165.library.dto.BookDTO;
+import cz.muni.fi.pa165.library.dto.SingleLoanDTO;
+import cz.muni.fi.pa165.library.dto.UserDTO;
+import cz.muni.fi.pa165.library.entities.Book;
+import cz.muni.fi.pa165.library.entities.SingleLoan;
+import cz.muni.fi.pa165.library.entities.User;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that the specialized mappers produce the same objects as Dozer.
+ *
+ * @since 18.10.2026
+ */
+public class MappingServiceTest {
+
+    private final Mapper dozer = DozerBeanMapperBuilder.buildDefault();
+
+    private MappingService specialized;
+
+    private SingleLoan singleLoan;
+
+    @Before
+    public void setUp() {
+        specialized = mappingService("specialized");
+
+        Book book = new Book("Animal Farm", "George Orwell");
+        book.setId(1);
+        User user = new User("Martin", "Páleník", "359817@mail.muni.cz", true);
+        user.setId(2);
+        user.setPasswordHash("H4SH");
+        singleLoan = new SingleLoan(book, user, LocalDateTime.of(2020, 1, 1, 12, 0));
+        singleLoan.setId(3L);
+        singleLoan.setReturnedAt(LocalDateTime.of(2020, 2, 1, 12, 0));
+        singleLoan.setReturnCondition("damaged");
+    }
+
+    private MappingService mappingService(String mode) {
+        MappingService mappingService = new MappingService();
+        ReflectionTestUtils.setField(mappingService, "dozer", dozer);
+        ReflectionTestUtils.setField(mappingService, "mode", mode);
+        return mappingService;
+    }
+
+    @Test
+    public void testSingleLoanToDTO() {
+        assertSameLoanDTO(dozer.map(singleLoan, SingleLoanDTO.class), specialized.mapTo(singleLoan, SingleLoanDTO.class));
+    }
+
+    @Test
+    public void testSingleLoanFromDTO() {
+        SingleLoanDTO singleLoanDTO = dozer.map(singleLoan, SingleLoanDTO.class);
+        SingleLoan expected = dozer.map(singleLoanDTO, SingleLoan.class);
+        SingleLoan actual = specialized.mapTo(singleLoanDTO, SingleLoan.class);
+
+        Assert.assertEquals(expected.getId(), actual.getId());
+        Assert.assertEquals(expected.getRegisteredAt(), actual.getRegisteredAt());
+        Assert.assertEquals(expected.getReturnedAt(), actual.getReturnedAt());
+        Assert.assertEquals(expected.getReturnCondition(), actual.getReturnCondition());
+        Assert.assertEquals(expected.getBook().getId(), actual.getBook().getId());
+        Assert.assertEquals(expected.getBook(), actual.getBook());
+        Assert.assertEquals(expected.getUser().getId(), actual.getUser().getId());
+        Assert.assertEquals(expected.getUser().getFirstName(), actual.getUser().getFirstName());
+        Assert.assertEquals(expected.getUser().getLastName(), actual.getUser().getLastName());
+        Assert.assertEquals(expected.getUser().getEmail(), actual.getUser().getEmail());
+        Assert.assertEquals(expected.getUser().getPasswordHash(), actual.getUser().getPasswordHash());
+        Assert.assertEquals(expected.getUser().isLibrarian(), actual.getUser().isLibrarian());
+    }
+
+    @Test
+    public void testSingleLoanWithoutBookAndUser() {
+        SingleLoan empty = new SingleLoan();
+        assertSameLoanDTO(dozer.map(empty, SingleLoanDTO.class), specialized.mapTo(empty, SingleLoanDTO.class));
+    }
+
+    @Test
+    public void testCollection() {
+        List<BookDTO> books = specialized.mapTo(Arrays.asList(singleLoan.getBook(), new Book("1984", "George Orwell")), BookDTO.class);
+
+        Assert.assertEquals(2, books.size());
+        Assert.assertEquals(1, books.get(0).getId());
+        Assert.assertEquals(new BookDTO(0, "1984", "George Orwell"), books.get(1));
+    }
+
+    @Test
+    public void testDozerMode() {
+        UserDTO userDTO = mappingService("dozer").mapTo(singleLoan.getUser(), UserDTO.class);
+        assertSameUserDTO(specialized.mapTo(singleLoan.getUser(), UserDTO.class), userDTO);
+    }
+
+    private static void assertSameLoanDTO(SingleLoanDTO expected, SingleLoanDTO actual) {
+        Assert.assertEquals(expected.getId(), actual.getId());
+        Assert.assertEquals(expected.getRegisteredAt(), actual.getRegisteredAt());
+        Assert.assertEquals(expected.getReturnedAt(), actual.getReturnedAt());
+        Assert.assertEquals(expected.getReturnCondition(), actual.getReturnCondition());
+        Assert.assertEquals(expected.getBook(), actual.getBook());
+        if (expected.getBook() != null) {
+            Assert.assertEquals(expected.getBook().getId(), actual.getBook().getId());
+        }
+        if (expected.getUser() == null) {
+            Assert.assertNull(actual.getUser());
+        } else {
+            assertSameUserDTO(expected.getUser(), actual.getUser());
+        }
+    }
+
+    private static void assertSameUserDTO(UserDTO expected, UserDTO actual) {
+        Assert.assertEquals(expected.getId(), actual.getId());
+        Assert.assertEquals(expected.getFirstName(), actual.getFirstName());
+        Assert.assertEquals(expected.getLastName(), actual.getLastName());
+        Assert.assertEquals(expected.getEmail(), actual.getEmail());
+        Assert.assertEquals(expected.getPasswordHash(), actual.getPasswordHash());
+        Assert.assertEquals(expected.isLibrarian(), actual.isLibrarian());
+    }
+}
@@ -0,0 +1,231 @@
+package cz.muni.fi.pa165.library.services;
+
+import cz.muni.fi.pa165.library.entities.OverdueLoan;
+import cz.muni.fi.pa165.library.entities.OverdueScan;
+import cz.muni.fi.pa165.library.exceptions.ScanRunningException;
+import cz.muni.fi.pa165.library.repositories.OpenLoan;
+import cz.muni.fi.pa165.library.repositories.OverdueScanRepository;
+import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.mockito.ArgumentMatchers.any;
+
+/**
+ * @since 18.10.2026
+ */
+@RunWith(SpringRunner.class)
+public class OverdueScanServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2020, 3, 1, 12, 0);
+
+    private static final Clock CLOCK = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Mock
+    private SingleLoanRepository singleLoanRepository;
+
+    @Mock
+    private OverdueScanRepository overdueScanRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    /** chunks of two loans, the two most overdue loans are listed */
+    @InjectMocks
+    private OverdueScanService overdueScanService = new OverdueScanService(Duration.ofDays(30), 2, 2, 2, CLOCK);
+
+    @Before
+    public void setUp() {
+        Mockito.when(
+                transactionTemplate.execute(any())
+        ).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(
+                overdueScanRepository.save(any())
+        ).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @After
+    public void tearDown() {
+        overdueScanService.shutdown();
+    }
+
+    @Test
+    public void testScan() {
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(0, PageRequest.of(0, 2))
+        ).thenReturn(Arrays.asList(
+                openLoan(1, LocalDateTime.of(2020, 1, 1, 12, 0)),
+                openLoan(2, LocalDateTime.of(2020, 1, 25, 12, 0))
+        ));
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(2, PageRequest.of(0, 2))
+        ).thenReturn(Arrays.asList(
+                openLoan(3, LocalDateTime.of(2020, 2, 15, 12, 0)),
+                openLoan(4, LocalDateTime.of(2020, 1, 20, 12, 0))
+        ));
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(4, PageRequest.of(0, 2))
+        ).thenReturn(Collections.emptyList());
+
+        OverdueScan scan = overdueScanService.scan();
+
+        Assert.assertEquals(NOW, scan.getAsOf());
+        Assert.assertEquals(NOW, scan.getFinishedAt());
+        Assert.assertEquals(4, scan.getLastLoanId());
+        Assert.assertEquals(4, scan.getScanned());
+        Assert.assertEquals(3, scan.getOverdue());
+        Assert.assertEquals(1, scan.getOverdueWeek());
+        Assert.assertEquals(1, scan.getOverdueMonth());
+        Assert.assertEquals(1, scan.getOverdueLonger());
+        Assert.assertEquals(Arrays.asList(new OverdueLoan(1, 10, 20, 30), new OverdueLoan(4, 40, 80, 11)),
+                scan.getLongestOverdue());
+        // a checkpoint after each chunk and the finished scan
+        Mockito.verify(overdueScanRepository, Mockito.times(3)).save(scan);
+    }
+
+    @Test
+    public void testResumeUnfinishedScan() {
+        OverdueScan unfinished = new OverdueScan(NOW.minusDays(1));
+        unfinished.setId(5);
+        unfinished.setLastLoanId(2);
+        unfinished.setScanned(2);
+        unfinished.setOverdue(1);
+        unfinished.setOverdueLonger(1);
+        unfinished.getLongestOverdue().add(new OverdueLoan(1, 10, 20, 29));
+        Mockito.when(
+                overdueScanRepository.findFirstByFinishedAtIsNullOrderByIdDesc()
+        ).thenReturn(Optional.of(unfinished));
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(2, PageRequest.of(0, 2))
+        ).thenReturn(Collections.singletonList(
+                openLoan(4, LocalDateTime.of(2020, 1, 20, 12, 0))
+        ));
+
+        OverdueScan scan = overdueScanService.scan();
+
+        Assert.assertEquals(5, scan.getId());
+        Assert.assertEquals(NOW.minusDays(1), scan.getAsOf());
+        Assert.assertEquals(3, scan.getScanned());
+        Assert.assertEquals(2, scan.getOverdue());
+        Assert.assertEquals(1, scan.getOverdueMonth());
+        Assert.assertEquals(Arrays.asList(new OverdueLoan(1, 10, 20, 29), new OverdueLoan(4, 40, 80, 10)),
+                scan.getLongestOverdue());
+        Mockito.verify(singleLoanRepository, Mockito.never()).findOpenLoanRowsAfter(0, PageRequest.of(0, 2));
+        // a short chunk is the last one
+        Mockito.verify(singleLoanRepository, Mockito.never()).findOpenLoanRowsAfter(4, PageRequest.of(0, 2));
+    }
+
+    @Test
+    public void testReportLimit() {
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(0, PageRequest.of(0, 2))
+        ).thenReturn(Arrays.asList(
+                openLoan(1, LocalDateTime.of(2020, 1, 20, 12, 0)),
+                openLoan(2, LocalDateTime.of(2020, 1, 10, 12, 0))
+        ));
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(2, PageRequest.of(0, 2))
+        ).thenReturn(Collections.singletonList(
+                openLoan(3, LocalDateTime.of(2020, 1, 15, 12, 0))
+        ));
+
+        OverdueScan scan = overdueScanService.scan();
+
+        Assert.assertEquals(3, scan.getOverdue());
+        Assert.assertEquals(Arrays.asList(new OverdueLoan(2, 20, 40, 21), new OverdueLoan(3, 30, 60, 16)),
+                scan.getLongestOverdue());
+    }
+
+    @Test
+    public void testConcurrentScanRejected() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch rejected = new CountDownLatch(1);
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(0, PageRequest.of(0, 2))
+        ).thenAnswer(invocation -> {
+            fetching.countDown();
+            rejected.await(5, TimeUnit.SECONDS);
+            return Collections.emptyList();
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<OverdueScan> first = executor.submit(overdueScanService::scan);
+            Assert.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+            try {
+                overdueScanService.scan();
+                Assert.fail();
+            } catch (ScanRunningException expected) {
+                rejected.countDown();
+            }
+            Assert.assertEquals(0, first.get(5, TimeUnit.SECONDS).getScanned());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testScheduledScanPropagatesFailure() {
+        Mockito.when(
+                singleLoanRepository.findOpenLoanRowsAfter(0, PageRequest.of(0, 2))
+        ).thenThrow(new IllegalStateException("connection closed"));
+
+        overdueScanService.scheduledScan();
+    }
+
+    @Test
+    public void testGetLastReport() {
+        OverdueScan finished = new OverdueScan(NOW);
+        finished.setFinishedAt(NOW);
+        Mockito.when(
+                overdueScanRepository.findFirstByFinishedAtIsNotNullOrderByIdDesc()
+        ).thenReturn(Optional.of(finished));
+
+        Assert.assertEquals(Optional.of(finished), overdueScanService.getLastReport());
+    }
+
+    private static OpenLoan openLoan(long id, LocalDateTime registeredAt) {
+        return new OpenLoan() {
+            @Override
+            public long getId() {
+                return id;
+            }
+
+            @Override
+            public long getBookId() {
+                return id * 10;
+            }
+
+            @Override
+            public long getUserId() {
+                return id * 20;
+            }
+
+            @Override
+            public LocalDateTime getRegisteredAt() {
+                return registeredAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package cz.muni.fi.pa165.library.services;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordHashingService passwordHashingService;
+
+    @After
+    public void tearDown() {
+        if (passwordHashingService != null) {
+            passwordHashingService.shutdown();
+        }
+    }
+
+    @Test
+    public void testHash() {
+        passwordHashingService = new PasswordHashingService(1, 1);
+
+        String hash = passwordHashingService.hash("password");
+        Assert.assertTrue(new BCryptPasswordEncoder().matches("password", hash));
+        Assert.assertTrue(new BCryptPasswordEncoder().matches("password", passwordHashingService.hashAsync("password").join()));
+    }
+
+    @Test
+    public void testSaturatedPoolRejects() {
+        passwordHashingService = new PasswordHashingService(1, 1);
+
+        // BCrypt takes tens of milliseconds, so the first password is still being hashed
+        // while the second waits in the queue and the third finds the queue full
+        List<CompletableFuture<String>> hashes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            hashes.add(passwordHashingService.hashAsync("password" + i));
+        }
+
+        hashes.get(0).join();
+        hashes.get(1).join();
+        try {
+            hashes.get(2).join();
+            Assert.fail();
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueueCapacity() {
+        passwordHashingService = new PasswordHashingService(1, 0);
+    }
+}
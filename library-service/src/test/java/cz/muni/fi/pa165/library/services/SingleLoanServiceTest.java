@@ -3,6 +3,7 @@ package cz.muni.fi.pa165.library.services;
 import cz.muni.fi.pa165.library.entities.Book;
 import cz.muni.fi.pa165.library.entities.SingleLoan;
 import cz.muni.fi.pa165.library.entities.User;
+import cz.muni.fi.pa165.library.exceptions.InvalidArgumentException;
 import cz.muni.fi.pa165.library.repositories.SingleLoanRepository;
 import org.junit.Assert;
 import org.junit.Test;
@@ -10,10 +11,16 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit4.SpringRunner;
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 /** @author Martin Páleník 359817 */
 
@@ -23,6 +30,12 @@ public class SingleLoanServiceTest {
     @Mock
     private SingleLoanRepository singleLoanRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     @InjectMocks
     private SingleLoanService singleLoanService;
 
@@ -141,12 +154,12 @@ public class SingleLoanServiceTest {
         setTwoSingleLoans();
 
         Mockito.when(
-                singleLoanRepository.findAll()
+                singleLoanRepository.findByUserId(user.getId(), PageRequest.of(0, 20, Sort.by("id")))
         ).thenReturn(
                 Arrays.asList(singleLoan, singleLoan2)
         );
 
-        Assert.assertEquals(Arrays.asList(singleLoan, singleLoan2), singleLoanService.getLoansForUser(user));
+        Assert.assertEquals(Arrays.asList(singleLoan, singleLoan2), singleLoanService.getLoansForUser(user.getId(), 0, 20));
     }
 
     @Test
@@ -165,12 +178,94 @@ public class SingleLoanServiceTest {
         singleLoan2.setReturnCondition("damaged");
 
         Mockito.when(
-                singleLoanRepository.findAll()
+                singleLoanRepository.findByBookId(book.getId(), PageRequest.of(0, 20, Sort.by("id")))
+        ).thenReturn(
+                Arrays.asList(singleLoan, singleLoan2)
+        );
+
+        Assert.assertEquals(Arrays.asList(singleLoan, singleLoan2), singleLoanService.getLoansForBook(book.getId(), 0, 20));
+    }
+
+    @Test
+    public void testGetOpenLoansForUser() {
+        setTwoSingleLoans();
+        singleLoan2.setReturnedAt(null);
+
+        Mockito.when(
+                singleLoanRepository.findOpenByUserId(user.getId())
+        ).thenReturn(
+                Arrays.asList(singleLoan2)
+        );
+
+        Assert.assertEquals(Arrays.asList(singleLoan2), singleLoanService.getOpenLoansForUser(user.getId()));
+    }
+
+    @Test
+    public void testGetOpenLoansForBook() {
+        setSingleLoan();
+        singleLoan.setReturnedAt(null);
+
+        Mockito.when(
+                singleLoanRepository.findOpenByBookId(book.getId())
+        ).thenReturn(
+                Arrays.asList(singleLoan)
+        );
+
+        Assert.assertEquals(Arrays.asList(singleLoan), singleLoanService.getOpenLoansForBook(book.getId()));
+    }
+
+    @Test
+    public void testFindOpenPage() {
+        setTwoSingleLoans();
+        singleLoan.setId(5L);
+        singleLoan2.setId(6L);
+
+        Mockito.when(
+                singleLoanRepository.findOpenByIdAfter(0, PageRequest.of(0, 2))
         ).thenReturn(
                 Arrays.asList(singleLoan, singleLoan2)
         );
 
-        Assert.assertEquals(Arrays.asList(singleLoan, singleLoan2), singleLoanService.getLoansForBook(book));
+        Mockito.when(
+                singleLoanRepository.findOpenByIdAfter(5, PageRequest.of(0, 2))
+        ).thenReturn(
+                Arrays.asList(singleLoan2)
+        );
+
+        KeysetPage<SingleLoan> first = singleLoanService.findOpenPage(null, 1);
+        Assert.assertEquals(Arrays.asList(singleLoan), first.getContent());
+        Assert.assertNotNull(first.getNextCursor());
+
+        KeysetPage<SingleLoan> second = singleLoanService.findOpenPage(first.getNextCursor(), 1);
+        Assert.assertEquals(Arrays.asList(singleLoan2), second.getContent());
+        Assert.assertNull(second.getNextCursor());
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testGetLoansForUserNegativePage() {
+        singleLoanService.getLoansForUser(1, -1, 20);
+    }
+
+    @Test(expected = InvalidArgumentException.class)
+    public void testGetLoansForBookTooLargePage() {
+        singleLoanService.getLoansForBook(1, 0, KeysetPage.MAX_SIZE + 1);
+    }
+
+    @Test
+    public void testExportAll() {
+        setSingleLoan();
+
+        int count = SingleLoanService.EXPORT_CHUNK_SIZE * 2 + 1;
+        Mockito.when(
+                singleLoanRepository.streamAll()
+        ).thenReturn(
+                IntStream.range(0, count).mapToObj(i -> singleLoan)
+        );
+
+        List<SingleLoan> exported = new ArrayList<>();
+        Assert.assertEquals(count, singleLoanService.exportAll(exported::add));
+        Assert.assertEquals(count, exported.size());
+        Mockito.verify(entityManager, Mockito.times(2)).clear();
     }
 
     @Test
@@ -181,5 +276,6 @@ public class SingleLoanServiceTest {
 
         Assert.assertEquals(LocalDateTime.MAX, singleLoan.getReturnedAt());
         Assert.assertEquals("ok", singleLoan.getReturnCondition());
+        Mockito.verify(aggregateVersions).bumpAfterCommit(AggregateVersions.Aggregate.LOANS);
     }
 }
\ No newline at end of file
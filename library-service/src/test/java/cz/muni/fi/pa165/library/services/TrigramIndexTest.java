@@ -0,0 +1,71 @@
+package cz.muni.fi.pa165.library.services;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @Before
+    public void setUp() {
+        index = new TrigramIndex();
+        index.add(1, "Witcher");
+        index.add(2, "Witcher - Sword of destiny");
+        index.add(3, "Road to the north");
+        index.add(4, "The Little Prince");
+    }
+
+    @Test
+    public void testSearchSubstring() {
+        Assert.assertEquals(Arrays.asList(1L, 2L), index.search("itch"));
+        Assert.assertEquals(Arrays.asList(2L), index.search("Sword of"));
+    }
+
+    @Test
+    public void testSearchIsCaseSensitive() {
+        Assert.assertEquals(Collections.singletonList(4L), index.search("The"));
+        Assert.assertEquals(Collections.singletonList(3L), index.search("the"));
+    }
+
+    @Test
+    public void testSearchShortQuery() {
+        Assert.assertEquals(Arrays.asList(1L, 2L), index.search("ch"));
+        Assert.assertEquals(Collections.singletonList(4L), index.search("Th"));
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L, 4L), index.search(""));
+    }
+
+    @Test
+    public void testSearchRequiresTrigramsInOrder() {
+        // "Witcher" contains trigrams "tch" and "Wit", but not "chW"
+        Assert.assertEquals(Collections.emptyList(), index.search("tchWit"));
+        Assert.assertEquals(Collections.emptyList(), index.search("Witchers"));
+    }
+
+    @Test
+    public void testRemove() {
+        index.remove(1);
+
+        Assert.assertEquals(Collections.singletonList(2L), index.search("Witcher"));
+        Assert.assertEquals(3, index.size());
+    }
+
+    @Test
+    public void testAddReplacesText() {
+        index.add(1, "Animal Farm");
+
+        Assert.assertEquals(Collections.singletonList(2L), index.search("Witcher"));
+        Assert.assertEquals(Collections.singletonList(1L), index.search("Farm"));
+    }
+
+    @Test
+    public void testClear() {
+        index.clear();
+
+        Assert.assertEquals(0, index.size());
+        Assert.assertEquals(Collections.emptyList(), index.search("Witcher"));
+    }
+}
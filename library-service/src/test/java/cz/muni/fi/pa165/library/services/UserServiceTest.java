@@ -8,8 +8,15 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Katarína Hermanová
@@ -22,6 +29,18 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AggregateVersions aggregateVersions;
+
     @InjectMocks
     private UserService userService;
 
@@ -51,18 +70,91 @@ public class UserServiceTest {
 
     @Test(expected = IllegalArgumentException.class)
     public void testAddUserWithSameEmail() {
-        User user = new User("Kat", "Herman", "kHerm@mail.com", true);
         User user2 = new User("K", "Her", "kHerm@mail.com", true);
 
         Mockito.when(
-                userRepository.findAll()
+                userRepository.existsByEmail(user2.getEmail())
         ).thenReturn(
-                Arrays.asList(user)
+                true
         );
 
         userService.addUser(user2, "password");
     }
 
+    @Test
+    public void testAddUser() {
+        User user = new User("Kat", "Herman", "kHerm@mail.com", true);
+
+        Mockito.when(
+                passwordHashingService.hash("password")
+        ).thenReturn(
+                "H4SH"
+        );
+
+        userService.addUser(user, "password");
+
+        Assert.assertEquals("H4SH", user.getPasswordHash());
+        Mockito.verify(userRepository).save(user);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.<Object>argThat(event ->
+                event instanceof UserChangedEvent && ((UserChangedEvent) event).getEmail().equals("kHerm@mail.com")));
+    }
+
+    @Test
+    public void testAddUserAsync() {
+        User user = new User("Kat", "Herman", "kHerm@mail.com", true);
+        user.setId(5);
+
+        Mockito.when(
+                passwordHashingService.hashAsync("password")
+        ).thenReturn(
+                CompletableFuture.completedFuture("H4SH")
+        );
+
+        Mockito.when(
+                transactionTemplate.execute(Mockito.any())
+        ).thenAnswer(
+                invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null)
+        );
+
+        Assert.assertEquals(Long.valueOf(5), userService.addUserAsync(user, "password").join());
+        Assert.assertEquals("H4SH", user.getPasswordHash());
+        Mockito.verify(userRepository).save(user);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddUserAsyncWithSameEmail() {
+        User user = new User("K", "Her", "kHerm@mail.com", true);
+
+        Mockito.when(
+                userRepository.existsByEmail(user.getEmail())
+        ).thenReturn(
+                true
+        );
+
+        userService.addUserAsync(user, "password");
+    }
+
+    @Test
+    public void testAddUserAsyncRejected() {
+        User user = new User("Kat", "Herman", "kHerm@mail.com", true);
+        CompletableFuture<String> rejected = new CompletableFuture<>();
+        rejected.completeExceptionally(new RejectedExecutionException());
+
+        Mockito.when(
+                passwordHashingService.hashAsync("password")
+        ).thenReturn(
+                rejected
+        );
+
+        try {
+            userService.addUserAsync(user, "password").join();
+            Assert.fail();
+        } catch (CompletionException e) {
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any());
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testAddUserWithInvalidUserParameter() {
         User user = new User("Kat", null, "kHerm@mail.com", true);
@@ -100,13 +192,38 @@ public class UserServiceTest {
         userService.findByEmail("");
     }
 
+    @Test
+    public void testFindByEmail() {
+        User user = new User("Kat", "Herman", "kHerm@mail.com", true);
+
+        Mockito.when(
+                userRepository.findByEmail(user.getEmail())
+        ).thenReturn(
+                Optional.of(user)
+        );
+
+        Assert.assertEquals(user, userService.findByEmail(user.getEmail()));
+        Mockito.verify(userRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    public void testFindByEmailNonExisting() {
+        Mockito.when(
+                userRepository.findByEmail("nobody@mail.com")
+        ).thenReturn(
+                Optional.empty()
+        );
+
+        Assert.assertNull(userService.findByEmail("nobody@mail.com"));
+    }
+
     @Test
     public void testFindByFirstName() {
         User user = new User("Kat", "Herman", "kHerm@mail.com", true);
         String firstName = user.getFirstName();
 
         Mockito.when(
-                userRepository.findAll()
+                userRepository.findByFirstName(firstName)
         ).thenReturn(
                 Arrays.asList(user)
         );
@@ -121,7 +238,7 @@ public class UserServiceTest {
         String firstName = user.getFirstName();
 
         Mockito.when(
-                userRepository.findAll()
+                userRepository.findByFirstName(firstName)
         ).thenReturn(
                 Arrays.asList(user, user2)
         );
@@ -135,7 +252,7 @@ public class UserServiceTest {
         String lastName = user.getLastName();
 
         Mockito.when(
-                userRepository.findAll()
+                userRepository.findByLastName(lastName)
         ).thenReturn(
                 Arrays.asList(user)
         );
@@ -150,7 +267,7 @@ public class UserServiceTest {
         String lastName = user.getLastName();
 
         Mockito.when(
-                userRepository.findAll()
+                userRepository.findByLastName(lastName)
         ).thenReturn(
                 Arrays.asList(user, user2)
         );
@@ -162,17 +279,52 @@ public class UserServiceTest {
     public void testFindAllLibrarians() {
         User user = new User("Kat", "Herman", "kHerm@mail.com", true);
         User user2 = new User("K", "Her", "kHerm2@mail.com", true);
-        User user3 = new User("Another", "User", "anotUser@mail.com", false);
 
         Mockito.when(
-                userRepository.findAll()
+                userRepository.findByIsLibrarianTrue()
         ).thenReturn(
-                Arrays.asList(user, user2, user3)
+                Arrays.asList(user, user2)
         );
 
         Assert.assertEquals(Arrays.asList(user, user2), userService.findAllLibrarians());
     }
 
+    @Test
+    public void testSetLibrarian() {
+        User user = new User("Kat", "Herman", "kHerm@mail.com", false);
+        user.setId(7);
+
+        Mockito.when(
+                userRepository.findById(7L)
+        ).thenReturn(
+                Optional.of(user)
+        );
+
+        userService.setLibrarian(7, true);
+
+        Assert.assertTrue(user.isLibrarian());
+        Mockito.verify(userRepository).save(user);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.<Object>argThat(event ->
+                event instanceof UserChangedEvent && ((UserChangedEvent) event).getEmail().equals("kHerm@mail.com")));
+    }
+
+    @Test
+    public void testSetLibrarianUnchanged() {
+        User user = new User("Kat", "Herman", "kHerm@mail.com", true);
+        user.setId(7);
+
+        Mockito.when(
+                userRepository.findById(7L)
+        ).thenReturn(
+                Optional.of(user)
+        );
+
+        userService.setLibrarian(7, true);
+
+        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(Mockito.any(Object.class));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void testDeleteUserNegativeId() {
         userService.deleteUser(-1);
@@ -182,4 +334,35 @@ public class UserServiceTest {
     public void testDeleteUser() {
         userService.deleteUser(-1);
     }
+
+    @Test
+    public void testDeleteUserPublishesEvent() {
+        User user = new User("Kat", "Herman", "kHerm@mail.com", true);
+        user.setId(7);
+
+        Mockito.when(
+                userRepository.findById(7L)
+        ).thenReturn(
+                Optional.of(user)
+        );
+
+        userService.deleteUser(7);
+
+        Mockito.verify(userRepository).delete(user);
+        Mockito.verify(eventPublisher).publishEvent(Mockito.<Object>argThat(event ->
+                event instanceof UserDeletedEvent && ((UserDeletedEvent) event).getEmail().equals("kHerm@mail.com")));
+    }
+
+    @Test
+    public void testDeleteNonExistingUserPublishesNothing() {
+        Mockito.when(
+                userRepository.findById(7L)
+        ).thenReturn(
+                Optional.empty()
+        );
+
+        userService.deleteUser(7);
+
+        Mockito.verify(eventPublisher, Mockito.never()).publishEvent(Mockito.any(Object.class));
+    }
 }
\ No newline at end of file
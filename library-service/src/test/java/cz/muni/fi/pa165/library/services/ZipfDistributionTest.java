@@ -0,0 +1,49 @@
+package cz.muni.fi.pa165.library.services;
+
+import org.junit.Assert;
+import org.junit.Test;
+import java.util.SplittableRandom;
+
+/**
+ * @since 18.10.2026
+ */
+public class ZipfDistributionTest {
+
+    @Test
+    public void testProbabilities() {
+        ZipfDistribution zipf = new ZipfDistribution(3, 1.0);
+
+        // 1, 1/2 and 1/3 of 11/6
+        Assert.assertEquals(6.0 / 11, zipf.probability(0), 1e-9);
+        Assert.assertEquals(3.0 / 11, zipf.probability(1), 1e-9);
+        Assert.assertEquals(2.0 / 11, zipf.probability(2), 1e-9);
+    }
+
+    @Test
+    public void testUniform() {
+        ZipfDistribution zipf = new ZipfDistribution(4, 0);
+
+        for (int rank = 0; rank < 4; rank++) {
+            Assert.assertEquals(0.25, zipf.probability(rank), 1e-9);
+        }
+    }
+
+    @Test
+    public void testSample() {
+        ZipfDistribution zipf = new ZipfDistribution(100, 1.0);
+        SplittableRandom random = new SplittableRandom(1);
+        int[] counts = new int[zipf.size()];
+        for (int i = 0; i < 100_000; i++) {
+            counts[zipf.sample(random)]++;
+        }
+
+        Assert.assertEquals(zipf.probability(0), counts[0] / 100_000.0, 0.01);
+        Assert.assertEquals(zipf.probability(9), counts[9] / 100_000.0, 0.01);
+        Assert.assertTrue(counts[0] > counts[99] * 20);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeExponent() {
+        new ZipfDistribution(10, -1);
+    }
+}